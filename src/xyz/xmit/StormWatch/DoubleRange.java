@@ -0,0 +1,57 @@
+package xyz.xmit.StormWatch;
+
+import java.util.Random;
+
+
+/**
+ * An immutable range of doubles, used for ranged configuration values like speeds and velocity factors.
+ * Like {@link IntRange}, it's validated when a Storm type's profile is compiled and keeps a precomputed span,
+ * so sampling never boxes or throws.
+ *
+ * @see IntRange
+ * @see StormProfile#getDoubleRange(StormConfig.ConfigKeySet)
+ */
+public final class DoubleRange {
+    private final double min, max, span;
+
+    /**
+     * Creates a new range of doubles.
+     *
+     * @param min The lower bound of the range.
+     * @param max The upper bound of the range.
+     * @throws IllegalArgumentException If either bound isn't a finite number, or if the lower bound is
+     *                                  greater than the upper bound.
+     */
+    public DoubleRange(double min, double max) throws IllegalArgumentException {
+        if(!Double.isFinite(min) || !Double.isFinite(max)) {
+            throw new IllegalArgumentException("The bounds of a range must be finite numbers: [" + min + ", " + max + "]");
+        } else if(min > max) {
+            throw new IllegalArgumentException("The lower bound of a range can't be greater than its upper bound: "
+                    + "[" + min + ", " + max + "]");
+        }
+        this.min = min;
+        this.max = max;
+        this.span = max - min;
+    }
+
+
+    public final double getMin() { return this.min; }
+    public final double getMax() { return this.max; }
+    public final double getSpan() { return this.span; }
+
+    /**
+     * Gets a random value within the range.
+     *
+     * @param rng The random number generator to draw from.
+     * @return A value from the lower bound (inclusive) to the upper bound (exclusive).
+     */
+    public final double sample(Random rng) { return this.min + rng.nextDouble() * this.span; }
+
+    /**
+     * Checks whether a value is within the range's bounds (inclusive).
+     */
+    public final boolean contains(double value) { return value >= this.min && value <= this.max; }
+
+    @Override
+    public String toString() { return "[" + this.min + ", " + this.max + "]"; }
+}
@@ -0,0 +1,62 @@
+package xyz.xmit.StormWatch;
+
+import java.util.Random;
+
+
+/**
+ * An immutable range of integers, used for all ranged configuration values (cooldowns, durations, spawn
+ * rates, angles, offsets, etc). Ranges are validated once, when a Storm type's profile is compiled, and
+ * their span is precomputed so that sampling is a single call to the random number generator, without
+ * any boxing or exception handling.
+ * <p>
+ * Samples are drawn from the lower bound (inclusive) up to the upper bound (exclusive); a range whose bounds
+ * are equal always samples its lower bound. Bounds checks with {@link #contains(int)} are inclusive of both.
+ *
+ * @see DoubleRange
+ * @see StormProfile#getIntRange(StormConfig.ConfigKeySet)
+ */
+public final class IntRange {
+    private final int min, max, span;
+
+    /**
+     * Creates a new range of integers.
+     *
+     * @param min The lower bound of the range.
+     * @param max The upper bound of the range.
+     * @throws IllegalArgumentException If the lower bound is greater than the upper bound, or if the span
+     *                                  of the range doesn't fit in an integer.
+     */
+    public IntRange(int min, int max) throws IllegalArgumentException {
+        if(min > max) {
+            throw new IllegalArgumentException("The lower bound of a range can't be greater than its upper bound: "
+                    + "[" + min + ", " + max + "]");
+        } else if((long)max - (long)min > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The range [" + min + ", " + max + "] is too wide.");
+        }
+        this.min = min;
+        this.max = max;
+        this.span = max - min;
+    }
+
+
+    public final int getMin() { return this.min; }
+    public final int getMax() { return this.max; }
+    public final int getSpan() { return this.span; }
+
+    /**
+     * Gets a random value within the range.
+     *
+     * @param rng The random number generator to draw from.
+     * @return A value from the lower bound (inclusive) to the upper bound (exclusive), or the lower bound if
+     *         both bounds are equal.
+     */
+    public final int sample(Random rng) { return this.span == 0 ? this.min : this.min + rng.nextInt(this.span); }
+
+    /**
+     * Checks whether a value is within the range's bounds (inclusive).
+     */
+    public final boolean contains(int value) { return value >= this.min && value <= this.max; }
+
+    @Override
+    public String toString() { return "[" + this.min + ", " + this.max + "]"; }
+}
@@ -1,7 +1,6 @@
 package xyz.xmit.StormWatch;
 
 
-import net.minecraft.util.Tuple;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -12,6 +11,7 @@ import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 
 
@@ -62,7 +62,11 @@ public abstract class Storm implements StormManager.StormCallback {
         LOAD_CHUNKS_PERSISTENT("chunkLoading.persistent"),
         LOAD_CHUNKS_UNLOAD_DELAY("chunkLoading.unloadDelaySeconds"),
         EXEMPT_PLAYERS("exemptPlayers"),
-        EXEMPT_WORLDS("exemptWorlds");
+        EXEMPT_WORLDS("exemptWorlds"),
+        CULL_UNSEEN_SPAWNS("entities.spawning.cullUnseen"),
+        VIEW_BIAS_ENABLED("entities.spawning.viewBias.enabled"),
+        VIEW_BIAS_CONE_ANGLE("entities.spawning.viewBias.coneHalfAngleInDegrees"),
+        VIEW_BIAS_AMBIENT_FRACTION("entities.spawning.viewBias.ambientFraction");
         public final String label;
         RequiredConfigurationKeyNames(String keyText) { this.label = keyText; }
         public final String getLabel() { return this.label; }
@@ -78,7 +82,8 @@ public abstract class Storm implements StormManager.StormCallback {
         BREAKS_BLOCKS("entities.explosions.breaksBlocks"),
         INCENDIARY("entities.explosions.setsFires"),
         EXPLOSION_DAMAGE("entities.explosions.damage"),
-        EXPLOSION_DAMAGE_RADIUS("entities.explosions.damageRadiusInBlocks");
+        EXPLOSION_DAMAGE_RADIUS("entities.explosions.damageRadiusInBlocks"),
+        EXPLOSION_DAMAGE_FALLOFF("entities.explosions.damageFallsOffWithDistance");
         public final String label;
         ExplosiveConfigurationKeyNames(String keyText) { this.label = keyText; }
         public final String getLabel() { return this.label; }
@@ -185,9 +190,9 @@ public abstract class Storm implements StormManager.StormCallback {
      * @see #Storm(String, Map)
      * @see RequiredConfigurationKeyNames
      */
-    protected final HashMap<String, Object> baseDefaultConfiguration = new HashMap<>() {{
+    protected static final Map<String, Object> baseDefaultConfiguration = Collections.unmodifiableMap(new HashMap<>() {{
         put(RequiredConfigurationKeyNames.ENABLED.label, true);
-        put(RequiredConfigurationKeyNames.ENVIRONMENTS.label, new String[]{"NORMAL","THE_END"});
+        put(RequiredConfigurationKeyNames.ENVIRONMENTS.label, new World.Environment[]{World.Environment.NORMAL, World.Environment.THE_END});
         put(RequiredConfigurationKeyNames.ENVIRONMENTS_ENFORCED.label, true);
         put(RequiredConfigurationKeyNames.CHANCE.label, 0.0123);
         put(RequiredConfigurationKeyNames.COOLDOWN_RANGE.label, new int[]{300,1200});
@@ -212,7 +217,11 @@ public abstract class Storm implements StormManager.StormCallback {
         put(RequiredConfigurationKeyNames.LOAD_CHUNKS_UNLOAD_DELAY.label, 0);
         put(RequiredConfigurationKeyNames.EXEMPT_PLAYERS.label, new ArrayList<String>());
         put(RequiredConfigurationKeyNames.EXEMPT_WORLDS.label, new ArrayList<String>());
-    }};
+        put(RequiredConfigurationKeyNames.CULL_UNSEEN_SPAWNS.label, true);
+        put(RequiredConfigurationKeyNames.VIEW_BIAS_ENABLED.label, false);
+        put(RequiredConfigurationKeyNames.VIEW_BIAS_CONE_ANGLE.label, 60);
+        put(RequiredConfigurationKeyNames.VIEW_BIAS_AMBIENT_FRACTION.label, 0.2);
+    }});
     /**
      * Default explosive-entity configuration that's provided, but not required, should any extension
      * of the Storm class wish to use config-enabled explosions.
@@ -226,8 +235,21 @@ public abstract class Storm implements StormManager.StormCallback {
         put(ExplosiveConfigurationKeyNames.INCENDIARY.label, false);
         put(ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE.label, 0.0);
         put(ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_RADIUS.label, 0);
+        put(ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_FALLOFF.label, false);
     }};
 
+    /**
+     * How many locations are drawn for a spawn before it's culled as unseen.
+     *
+     * @see #getVisibleRelativeLocation(boolean, boolean, boolean)
+     */
+    public static final int SPAWN_CULL_ATTEMPTS = 3;
+    /**
+     * How many locations are drawn when looking for a spawn inside the target player's view cone.
+     *
+     * @see #getNewRelativeLocation(boolean, boolean, boolean)
+     */
+    public static final int VIEW_BIAS_ATTEMPTS = 8;
     /**
      * Single random-number-generator instance reused throughout the Storm class and sub-classes.
      */
@@ -238,6 +260,7 @@ public abstract class Storm implements StormManager.StormCallback {
     private boolean isStarted = false; //has the startStorm method been invoked (and gotten past initial checks)?
     private boolean cancelled = false; //is the storm attempting to be cancelled?
     private boolean isSingleSpawnPerJob = false; //can be set by heirs to force the `spawnAmountRange` values to be ignored
+    private boolean thinsViewBiasedSpawns = false; //can be set by heirs to opt in to thinning view-biased spawns
     private boolean isCalledByCommand = false; //was the storm started by command
     private boolean strictConditionChecks = false; //whether to ALWAYS perform condition checks on startStorm
     // ^^^ See the "StormSandstorm" module for why this can certainly be a useful tool!
@@ -245,7 +268,6 @@ public abstract class Storm implements StormManager.StormCallback {
     private int stormPitch, stormYaw; //storm "direction", defined by a value between a configurable range
     private int stormDurationTicks; //storm instance event duration
     private int cooldown = 0; //current instance cooldown. can be changed, since cooldowns are read on the END event.
-    private final ArrayList<Entity> spawnedEntities = new ArrayList<>(); //collection of spawned entities; not required to use
     private final ArrayList<BukkitTask> scheduledSpawns = new ArrayList<>(); //collection of scheduled tasks
     private BukkitTask endEventCall; //pointer to task for calling the terminating event
 
@@ -256,32 +278,36 @@ public abstract class Storm implements StormManager.StormCallback {
     protected final String typeName; //Storm type's name (also used for the config node) -- this should be UNIQUE!
     private Player targetPlayer; //player targeted by the current event
     //// Provided by configuration
+    private StormProfile profile; //compiled configuration shared by all instances of the type
     private boolean isLoadsChunks; //does the storm load chunks?
     private boolean isLoadedChunksPersistent; //do loaded Storm chunks persist after the storm finishes?
     private boolean isCooldownEnabled; //does the storm create locks (i.e. is there a cooldown enabled?)
     private double stormChance; //chance for the storm to spawn
-    private final ArrayList<World.Environment> permittedWorldEnvironments = new ArrayList<>(); //permitted environments in which the storm can spawn
+    private Set<World.Environment> permittedWorldEnvironments = Set.of(); //permitted environments in which the storm can spawn
     private boolean permittedWorldEnvironmentsEnforced = false; //enforce environment checks?
-    private Tuple<Integer,Integer> cooldownRange; //cooldown between storms in each world
-    private Tuple<Integer,Integer> durationRange; //duration range (in SECONDS) of the storm event
-    private Tuple<Integer,Integer> spawnRateRange; //range of server ticks for creating new spawn jobs in the scheduler
-    private Tuple<Integer,Integer> spawnAmountRange; //range of how many can spawn per tick-rate above
-    private Tuple<Integer,Integer> pitchRange; //pitch axis range
-    private Tuple<Integer,Integer> yawRange; //yaw axis range
-    private Tuple<Integer,Integer> xRange; //x-spawn range from player base location
-    private Tuple<Integer,Integer> zRange; //same as above, but for z-axis
-    private Tuple<Integer,Integer> heightRange; //y-axis absolute min-to-max height at which to spawn entities (this one is NOT relative to the player)
-    private Tuple<Integer,Integer> timeRange; //minecraft time-range in which storms can occur
-    private Tuple<Double,Double> speedRange; //range of speed entities can move at
+    private IntRange cooldownRange; //cooldown between storms in each world
+    private IntRange durationRange; //duration range (in SECONDS) of the storm event
+    private IntRange spawnRateRange; //range of server ticks for creating new spawn jobs in the scheduler
+    private IntRange spawnAmountRange; //range of how many can spawn per tick-rate above
+    private IntRange pitchRange; //pitch axis range
+    private IntRange yawRange; //yaw axis range
+    private IntRange xRange; //x-spawn range from player base location
+    private IntRange zRange; //same as above, but for z-axis
+    private IntRange heightRange; //y-axis absolute min-to-max height at which to spawn entities (this one is NOT relative to the player)
+    private IntRange timeRange; //minecraft time-range in which storms can occur
+    private DoubleRange speedRange; //range of speed entities can move at
     private boolean timeRangeEnforced; //does the storm only spawn in the configured time range?
     private boolean isWindy; //can the storm change direction mid-schedule?
     private double windyChance; //chance for the storm to change direction
     private boolean followPlayer; //does the storm follow the player as it spawns entities?
+    private boolean cullsUnseenSpawns; //are spawns that no player could see moved or dropped?
+    private boolean viewBiased; //are spawns concentrated in the target player's view cone?
+    private double viewConeHalfAngle, viewBiasAmbientFraction; //view cone size (degrees), and the share of spawns left uniform
     private boolean isSchedulingDisabled = false; //should scheduling be skipped?
     private int stormDurationEndPaddingTicks = 0;
     private int chunkLoadingDiameter; //how many chunks the Storm loads from end-to-end of a square area
     private int chunkLoadingUnloadDelay; //delay in seconds to wait after the StormEndEvent finishes to unload the Storm's chunks
-    private ArrayList<String> exemptPlayers, exemptWorlds; // exempt worlds and target players for the Storm
+    private Set<String> exemptPlayers, exemptWorlds; // exempt worlds and target players for the Storm
     private String[] commandParams;
 
 
@@ -314,23 +340,15 @@ public abstract class Storm implements StormManager.StormCallback {
         // Assign the storm a valid UUID.
         this.stormId = UUID.randomUUID();
 
-        // Populate any default configuration variables that aren't already defined.
+        // Get the type's compiled configuration profile. The first instance of a type populates any default
+        //   configuration variables that aren't already defined, then compiles the profile shared by all instances.
         //   This needs to be done BEFORE checking if the Storm type is enabled, otherwise first-run instantiations will
         //   always return a FALSE for the Storm type being ENABLED.
-        this.baseDefaultConfiguration.putAll(defaultConfig);   //add the per-subclass object defaults to the super's default
-        // ^^ This can overwrite keys that already exist as well as define custom ones for the calling object.
-        if(!StormWatch.defaultConfigsSetForTypes.contains(this.getClass())) {
-            StormWatch.defaultConfigsSetForTypes.add(this.getClass());
+        this.profile = StormWatch.getStormConfig().getProfile(this.typeName);
+        if(this.profile == null) {
             try {
-                ////StormWatch.instance.stormConfig.setSectionDefaults(name, this.baseDefaultConfiguration);
-                // Add all subnodes onto the base name, e.g. "impact" + "[.]environment.enforced" to give a full path to its configuration.
-                ArrayList<String> set = new ArrayList<>(this.baseDefaultConfiguration.keySet());
-                for (String s : set) {
-                    this.baseDefaultConfiguration.put(this.typeName + "." + s, this.baseDefaultConfiguration.get(s));
-                    this.baseDefaultConfiguration.remove(s);
-                }
-                // Set these default values at the global scope as applicable using the newly-build full paths.
-                StormWatch.getStormConfig().setDefaults(this.baseDefaultConfiguration);
+                this.profile = StormWatch.getStormConfig().registerStormType(
+                        this.typeName, Storm.getMergedDefaultConfiguration(defaultConfig));
             } catch (Exception e) {
                 this.log(e, "Unable to check default types and config for storm type: " + this.typeName);
                 this.setCancelled(true);
@@ -359,51 +377,57 @@ public abstract class Storm implements StormManager.StormCallback {
     }
 
 
+    // Merge the base defaults with the type's own (which can overwrite keys that already exist as well as
+    //   define custom ones). Enum-valued defaults should be given as enum constants (or arrays of them), so that
+    //   they're resolved and validated when the type's profile is compiled.
+    private static HashMap<String, Object> getMergedDefaultConfiguration(Map<String,Object> typeDefaults) {
+        var merged = new HashMap<>(Storm.baseDefaultConfiguration);
+        if(typeDefaults != null) { merged.putAll(typeDefaults); }
+        return merged;
+    }
+
     // Instantiation fields (can also be used manually or overridden). These are always called on storm start (even if overridden)!
+    //   All values are copied from the type's compiled profile; no configuration lookups happen here.
     private void constructBaseStormOptions() throws Exception {
         //// storm chance
-        this.stormChance = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.CHANCE);
+        this.stormChance = this.profile.getChance();
         //// permitted environments
-        ArrayList<String> envNames =
-                StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.ENVIRONMENTS);
-        for(String s : envNames) { this.permittedWorldEnvironments.add(World.Environment.valueOf(s)); }
-        this.permittedWorldEnvironmentsEnforced =
-                StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.ENVIRONMENTS_ENFORCED);
+        this.permittedWorldEnvironments = this.profile.getEnvironments();
+        this.permittedWorldEnvironmentsEnforced = this.profile.isEnvironmentsEnforced();
         //// getting ranges
-
-        /*//TEST CODE
-        var yawRangeTest = new StormConfig.RangedValue<Integer>(this.typeName, RequiredConfigurationKeyNames.YAW_RANGE);
-        this.yawRange = yawRangeTest.getValueRange();*/
-
-        this.cooldownRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.COOLDOWN_RANGE);
-        this.durationRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.DURATION_RANGE);
-        this.speedRange = StormConfig.getDoubleRange(this.typeName, RequiredConfigurationKeyNames.SPEED_RANGE);
-        this.pitchRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.PITCH_RANGE);
-        this.yawRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.YAW_RANGE);
-        this.xRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.X_RANGE);
-        this.zRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.Z_RANGE);
-        this.heightRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.HEIGHT_RANGE);
-        this.spawnRateRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.SPAWN_RATE_RANGE);
-        this.spawnAmountRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.SPAWN_AMOUNT_RANGE);
+        this.cooldownRange = this.profile.getCooldownRange();
+        this.durationRange = this.profile.getDurationRange();
+        this.speedRange = this.profile.getSpeedRange();
+        this.pitchRange = this.profile.getPitchRange();
+        this.yawRange = this.profile.getYawRange();
+        this.xRange = this.profile.getXRange();
+        this.zRange = this.profile.getZRange();
+        this.heightRange = this.profile.getHeightRange();
+        this.spawnRateRange = this.profile.getSpawnRateRange();
+        this.spawnAmountRange = this.profile.getSpawnAmountRange();
         //// windy settings
-        this.isWindy = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.WINDY);
-        this.windyChance = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.WINDY_CHANCE);
+        this.isWindy = this.profile.isWindy();
+        this.windyChance = this.profile.getWindyChance();
         //// storm follows player
-        this.followPlayer = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.FOLLOW_PLAYER);
+        this.followPlayer = this.profile.isFollowPlayer();
         //// time-range check
-        this.timeRange = StormConfig.getIntegerRange(this.typeName, RequiredConfigurationKeyNames.TIME_RANGE);
-        this.timeRangeEnforced = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.TIME_RANGE_ENFORCED);
+        this.timeRange = this.profile.getTimeRange();
+        this.timeRangeEnforced = this.profile.isTimeRangeEnforced();
         //// instance cooldown, if the storm type has a cooldown enabled
         this.cooldown = this.getRandomInt(this.cooldownRange);
-        this.isCooldownEnabled = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.COOLDOWN_ENABLED);
+        this.isCooldownEnabled = this.profile.isCooldownEnabled();
         //// chunk loading settings
-        this.chunkLoadingDiameter = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.LOAD_CHUNKS_DIAMETER);
-        this.chunkLoadingUnloadDelay = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.LOAD_CHUNKS_UNLOAD_DELAY);
-        this.isLoadedChunksPersistent = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.LOAD_CHUNKS_PERSISTENT);
-        this.isLoadsChunks = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.LOAD_CHUNKS);
+        this.chunkLoadingDiameter = this.profile.getChunkLoadingDiameter();
+        this.chunkLoadingUnloadDelay = this.profile.getChunkLoadingUnloadDelay();
+        this.isLoadedChunksPersistent = this.profile.isLoadedChunksPersistent();
+        this.isLoadsChunks = this.profile.isLoadsChunks();
+        this.cullsUnseenSpawns = this.profile.isCullsUnseenSpawns();
+        this.viewBiased = this.profile.isViewBiased();
+        this.viewConeHalfAngle = this.profile.getViewConeHalfAngle();
+        this.viewBiasAmbientFraction = this.profile.getViewBiasAmbientFraction();
         //// exemption settings
-        this.exemptPlayers = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.EXEMPT_PLAYERS);
-        this.exemptWorlds = StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.EXEMPT_WORLDS);
+        this.exemptPlayers = this.profile.getExemptPlayers();
+        this.exemptWorlds = this.profile.getExemptWorlds();
         //// preset storm duration (changeable by sub-classes before scheduling)
         ////   NOTE: The storm duration is in SERVER TICKS
         this.stormDurationTicks = this.getNewDurationInTicks();
@@ -413,14 +437,12 @@ public abstract class Storm implements StormManager.StormCallback {
     //////////////////////////////////////////////////////////
     //////////////////////////////////////////////////////////
     ////// GET methods.
-    public final boolean getEnabled() {
-        try {
-            return StormConfig.getConfigValue(this.typeName, RequiredConfigurationKeyNames.ENABLED);
-        } catch (Exception ex) {
-            this.log(ex, "Unable to get ENABLED status for type " + this.typeName);
-            return false;
-        }
-    }
+    public final boolean getEnabled() { return this.profile != null && this.profile.isEnabled(); }
+    /**
+     * Gets the compiled configuration profile that this instance was constructed from. Extensions should read
+     * their own type-specific configuration from here rather than from the configuration file.
+     */
+    public final StormProfile getProfile() { return this.profile; }
     public final boolean isCancelled() { return this.cancelled; }
     public final boolean isCooldownEnabled() { return this.isCooldownEnabled; }
     public final boolean isStarted() { return this.isStarted; }
@@ -431,11 +453,16 @@ public abstract class Storm implements StormManager.StormCallback {
     public final boolean isCalledByCommand() { return this.isCalledByCommand; }
     public final boolean isFollowPlayer() { return this.followPlayer; }
     public final boolean isSingleSpawnPerJob() { return this.isSingleSpawnPerJob; }
+    /**
+     * Gets whether spawns drawn from the target player's view cone are thinned (see: {@link #getSpawnKeepChance()}).
+     * Only Storms which opt in and spawn more than one entity per job are thinned.
+     */
+    public final boolean isThinningViewBiasedSpawns() { return this.thinsViewBiasedSpawns && !this.isSingleSpawnPerJob; }
     public final double getStormChance() { return this.stormChance; }
     public final int getStormYaw() { return this.stormYaw; }
     public final int getStormPitch() { return this.stormPitch; }
-    public final Tuple<Integer, Integer> getPitchRange() { return this.pitchRange; }
-    public final Tuple<Integer, Integer> getYawRange() { return this.yawRange; }
+    public final IntRange getPitchRange() { return this.pitchRange; }
+    public final IntRange getYawRange() { return this.yawRange; }
     public final int getStormDurationTicks() { return this.stormDurationTicks; }
     public final int getStormDurationEndPaddingTicks() { return this.stormDurationEndPaddingTicks; }
     public final int getInstanceCooldown() { return this.cooldown; }
@@ -444,16 +471,23 @@ public abstract class Storm implements StormManager.StormCallback {
     public final String[] getCommandParameters() { return this.commandParams; }
     public final boolean isLoadsChunks() { return this.isLoadsChunks; }
     public final boolean isLoadedChunksPersistent() { return this.isLoadedChunksPersistent; }
-    public final ArrayList<String> getExemptPlayers() { return this.exemptPlayers; }
+    public final boolean isCullsUnseenSpawns() { return this.cullsUnseenSpawns; }
+    public final boolean isViewBiased() { return this.viewBiased; }
+    public final double getViewConeHalfAngle() { return this.viewConeHalfAngle; }
+    public final double getViewBiasAmbientFraction() { return this.viewBiasAmbientFraction; }
+    public final Set<String> getExemptPlayers() { return this.exemptPlayers; }
     public final boolean isPlayerNameExempt(String playerName) { return this.exemptPlayers.contains(playerName); }
-    public final ArrayList<String> getExemptWorlds() { return this.exemptWorlds; }
-    public final boolean isWorldNameExempt(String worldName) { return this.exemptPlayers.contains(worldName); }
+    public final Set<String> getExemptWorlds() { return this.exemptWorlds; }
+    public final boolean isWorldNameExempt(String worldName) { return this.exemptWorlds.contains(worldName); }
     public final boolean isStrictConditionChecks() {return this.strictConditionChecks; }
     /**
      * Gets a new location from configuration-defined coordinate ranges. The returned location can either consider the
      * configuration ranges to be absolute (i.e. in-game coordinates) between which a storm event can spawn, or a
      * metric of coordinates that is relative to the player's base location when the storm spawned (this base can also
      * change through the duration of the spawn, see {@link #isFollowPlayer()}.
+     * <p>
+     * If view-biased spawning is enabled (see {@link #isViewBiased()}), all but an ambient share of the returned
+     * locations are drawn from within the target player's view cone, where possible.
      *
      * @param isXRelative Is the X coordinate of the new location relative to the storm's base spawn location or absolute?
      * @param isYRelative Is the Y coordinate of the new location relative to the storm's base spawn location or absolute?
@@ -463,23 +497,113 @@ public abstract class Storm implements StormManager.StormCallback {
      * @see #getBaseSpawnLocation()
      */
     public final Location getNewRelativeLocation(boolean isXRelative, boolean isYRelative, boolean isZRelative) {
+        return this.drawSpawnLocation(isXRelative, isYRelative, isZRelative, false);
+    }
+    // Draws a spawn location, concentrated in the target player's view cone if spawns are view-biased. When thinning,
+    //   spawns actually drawn from the cone are dropped (returning null) at the rate given by getSpawnKeepChance.
+    private Location drawSpawnLocation(boolean isXRelative, boolean isYRelative, boolean isZRelative, boolean thin) {
+        double halfAngle = this.getEffectiveViewConeHalfAngle();
+        if(halfAngle >= 180 || this.rng.nextDouble() < this.viewBiasAmbientFraction) {
+            return this.drawRelativeLocation(isXRelative, isYRelative, isZRelative);
+        }
+        // Concentrate spawns in front of the target player: draw until one lands inside the view cone.
+        Location newLoc = null;
+        for(int i = 0; i < Storm.VIEW_BIAS_ATTEMPTS; i++) {
+            newLoc = this.drawRelativeLocation(isXRelative, isYRelative, isZRelative);
+            if(this.isInViewCone(newLoc, halfAngle)) {
+                return thin && this.rng.nextDouble() >= this.getSpawnKeepChance() ? null : newLoc;
+            }
+        }
+        return newLoc;   //none landed in the cone, so it's left as a uniform spawn
+    }
+    // Draws a spawn location uniformly from the configured X, Z and height ranges.
+    private Location drawRelativeLocation(boolean isXRelative, boolean isYRelative, boolean isZRelative) {
         Location newLoc = this.baseSpawnLocation.clone();
         newLoc.setX(isXRelative ? (newLoc.getX() + this.getNewXSpawn()) : this.getNewXSpawn());
         newLoc.setY(isYRelative ? (newLoc.getY() + this.getNewYSpawn()) : this.getNewYSpawn());
         newLoc.setZ(isZRelative ? (newLoc.getZ() + this.getNewZSpawn()) : this.getNewZSpawn());
         return newLoc;
     }
+    /**
+     * Gets a new relative spawn location (see: {@link #getNewRelativeLocation(boolean, boolean, boolean)}) that
+     * some player could actually see. If unseen spawns are culled, locations in unloaded chunks or outside of
+     * every player's entity tracking range are drawn again, up to {@link #SPAWN_CULL_ATTEMPTS} times in all, and
+     * the spawn is dropped if none of them could be seen. If view-biased spawns are thinned (see:
+     * {@link #isThinningViewBiasedSpawns()}), the spawn may also be dropped when it's drawn from the view cone.
+     * Moved and dropped spawns are counted in the plugin's statistics.
+     *
+     * @return A visible spawn location, or null if the spawn should be skipped.
+     * @see StormVisibility
+     */
+    public final Location getVisibleRelativeLocation(boolean isXRelative, boolean isYRelative, boolean isZRelative) {
+        Location newLoc = this.drawSpawnLocation(isXRelative, isYRelative, isZRelative, this.isThinningViewBiasedSpawns());
+        if(newLoc == null) {
+            StormWatch.getStats().increment(this.typeName + ".spawnsThinned");
+            return null;
+        }
+        if(!this.cullsUnseenSpawns || newLoc.getWorld() == null) { return newLoc; }
+        int range = StormVisibility.getEntityTrackingRange(newLoc.getWorld());
+        for(int attempt = 1; attempt <= Storm.SPAWN_CULL_ATTEMPTS; attempt++) {
+            if(StormVisibility.isVisible(newLoc, range)) {
+                if(attempt > 1) { StormWatch.getStats().increment(this.typeName + ".spawnsMoved"); }
+                return newLoc;
+            }
+            if(attempt < Storm.SPAWN_CULL_ATTEMPTS) {
+                newLoc = this.getNewRelativeLocation(isXRelative, isYRelative, isZRelative);
+            }
+        }
+        StormWatch.getStats().increment(this.typeName + ".spawnsCulled");
+        return null;
+    }
+    // The half-angle (in degrees) of the horizontal view cone that spawns are biased toward, or 180 when spawns
+    //   aren't biased at all. Looking up widens the cone by the same angle: overhead, everything is in view.
+    private double getEffectiveViewConeHalfAngle() {
+        if(!this.viewBiased || this.targetPlayer == null) { return 180; }
+        return Math.min(180, this.viewConeHalfAngle + Math.max(0, -this.targetPlayer.getLocation().getPitch()));
+    }
+    // Whether a location lies within the given horizontal angle of the target player's facing.
+    private boolean isInViewCone(Location loc, double halfAngle) {
+        Location eye = this.targetPlayer.getLocation();
+        double dx = loc.getX() - eye.getX(), dz = loc.getZ() - eye.getZ();
+        double length = Math.sqrt(dx*dx + dz*dz);
+        if(length < 1) { return true; }
+        double yaw = Math.toRadians(eye.getYaw());
+        double cos = (-Math.sin(yaw) * dx + Math.cos(yaw) * dz) / length;
+        return cos >= Math.cos(Math.toRadians(halfAngle));
+    }
+    /**
+     * Gets the chance that a spawn drawn from the target player's view cone is kept, when view-biased spawns are
+     * thinned. The ambient share of spawns is drawn uniformly and never thinned, so keeping the cone's share of
+     * the others leaves the cone with the same density it would've had with uniform spawns.
+     */
+    public final double getSpawnKeepChance() {
+        double halfAngle = this.getEffectiveViewConeHalfAngle();
+        return halfAngle >= 180 ? 1.0 : halfAngle / 180;
+    }
     public final String getTypeName() { return this.typeName; }
     public final String getName() { return this.typeName; }
     public final Location getBaseSpawnLocation() { return this.baseSpawnLocation; }
     public final Player getTargetPlayer() { return this.targetPlayer; }
     public final ArrayList<BukkitTask> getScheduledSpawns() { return this.scheduledSpawns; }
-    public final ArrayList<World.Environment> getPermittedWorldEnvironments() { return this.permittedWorldEnvironments; }
-    public final ArrayList<Entity> getSpawnedEntities() { return this.spawnedEntities; }
+    public final Set<World.Environment> getPermittedWorldEnvironments() { return this.permittedWorldEnvironments; }
+    /**
+     * Gets the live entities this Storm has spawned (and not yet lost to explosions, landings, deaths, etc).
+     *
+     * @return A new list of the entities.
+     * @see StormEntityRegistry
+     */
+    public final List<Entity> getSpawnedEntities() { return StormWatch.getEntityRegistry().getEntities(this.stormId); }
     public final UUID getStormId() { return this.stormId; }
-    public final Tuple<Integer,Integer> getTimeRange() { return this.timeRange; }
-    public final Tuple<Integer,Integer> getSpawnAmountRange() { return this.spawnAmountRange; }
-    public final Tuple<Integer,Integer> getSpawnRateRange() { return this.spawnRateRange; }
+    /**
+     * Gets a seed derived from the Storm's unique ID, for effects that should play out the same way every
+     * time for a given Storm (independent of the shared {@link #rng} instance's state).
+     */
+    public final long getStormSeed() {
+        return this.stormId == null ? 0L : this.stormId.getMostSignificantBits() ^ this.stormId.getLeastSignificantBits();
+    }
+    public final IntRange getTimeRange() { return this.timeRange; }
+    public final IntRange getSpawnAmountRange() { return this.spawnAmountRange; }
+    public final IntRange getSpawnRateRange() { return this.spawnRateRange; }
     //// Getter methods that use a range defined at instantiation.
     protected final double getNewSpeed() { return this.getRandomDouble(this.speedRange); }
     protected final int getNewCooldown() { return this.getRandomInt(this.cooldownRange); }
@@ -487,25 +611,20 @@ public abstract class Storm implements StormManager.StormCallback {
     protected final int getNewYaw() { return this.getRandomInt(this.yawRange); }
     protected final int getNewDurationInTicks() { return this.getRandomInt(this.durationRange) * 20; }
     protected final int getNewXSpawn() { return this.getRandomInt(this.xRange); }
-    protected final Tuple<Integer,Integer> getXRange() { return this.xRange; }
+    protected final IntRange getXRange() { return this.xRange; }
     protected final int getNewYSpawn() { return this.getRandomInt(this.heightRange); }
-    protected final Tuple<Integer,Integer> getHeightRange() { return this.heightRange; }
+    protected final IntRange getHeightRange() { return this.heightRange; }
     protected final int getNewZSpawn() { return this.getRandomInt(this.zRange); }
-    protected final Tuple<Integer,Integer> getZRange() { return this.zRange; }
+    protected final IntRange getZRange() { return this.zRange; }
     /////
-    // Explosive options/getters for static fields (non-range).
-    public final boolean getExplosionEnabled() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.EXPLODES); }
-    public final boolean getSetsFires() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.INCENDIARY); }
-    public final boolean getBreaksBlocks() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.BREAKS_BLOCKS); }
-    public final double getExplosionDamage() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE); }
-    public final int getExplosionYield() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.EXPLOSION_YIELD); }
-    public final int getExplosionDamageRadius() throws Exception {
-        return StormConfig.getConfigValue(this.typeName, ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_RADIUS); }
+    // Explosive options/getters for static fields (non-range). These are read from the compiled profile.
+    public final boolean getExplosionEnabled() { return this.profile.isExplosionEnabled(); }
+    public final boolean getSetsFires() { return this.profile.isSetsFires(); }
+    public final boolean getBreaksBlocks() { return this.profile.isBreaksBlocks(); }
+    public final double getExplosionDamage() { return this.profile.getExplosionDamage(); }
+    public final int getExplosionYield() { return this.profile.getExplosionYield(); }
+    public final int getExplosionDamageRadius() { return this.profile.getExplosionDamageRadius(); }
+    public final boolean isExplosionDamageFalloff() { return this.profile.isExplosionDamageFalloff(); }
 
 
     //////////////////////////////////////////////////////////
@@ -530,6 +649,7 @@ public abstract class Storm implements StormManager.StormCallback {
         this.stormYaw = this.getRandomInt(this.yawRange);
     }
     protected final void setSingleSpawnPerJob(boolean singleSpawning) { this.isSingleSpawnPerJob = singleSpawning; }
+    protected final void setThinsViewBiasedSpawns(boolean thins) { this.thinsViewBiasedSpawns = thins; }
     protected final void setStormPitch(int pitch) { this.stormPitch = pitch; }
     protected final void setStormYaw(int yaw) { this.stormYaw = yaw; }
     // Allows a storm extension to set the target player at will. MIGHT act a bit strangely.
@@ -550,24 +670,32 @@ public abstract class Storm implements StormManager.StormCallback {
         this.endStorm(20, this);   //call the cancel event in 20 ticks (1 second)
     }
     protected final void addScheduledSpawnTask(BukkitTask t) { this.scheduledSpawns.add(t); }
-    // Manually add spawned entities to the list.
-    protected final void addSpawnedEntity(Entity e) { this.spawnedEntities.add(e); }
+    // Manually add spawned entities to the list. They're also tagged with this storm's ID and type, so any that
+    //   outlive it (say, through a crash) are recognized as orphans when their chunk loads again.
+    protected final void addSpawnedEntity(Entity e) { StormWatch.getEntityRegistry().register(this.stormId, this.typeName, e); }
+    // Tag a spawned entity without tracking it, for entities left to land or expire on their own.
+    protected final void tagSpawnedEntity(Entity e) { StormWatch.getEntityRegistry().tag(this.stormId, this.typeName, e); }
+    // Spawn an entity that's fully configured by the initializer before it's added to the world, so its spawn
+    //   packet already carries its properties and velocity (rather than one update per setter afterwards).
+    protected final <T extends Entity> T spawnEntity(Location loc, Class<T> type, Consumer<T> initializer) {
+        return Objects.requireNonNull(loc.getWorld()).spawn(loc, type, initializer::accept);
+    }
+    // Give a spawned entity a time-to-live, after which the shared expiry queue removes it.
+    protected final void expireEntityAfter(Entity e, long ticksToLive) { StormWatch.getEntityExpiry().expireAfter(e, ticksToLive); }
     // Attempt a removal on any leftover entities, if desired.
     protected final void destroySpawnedEntities() {
-        this.debugLog("Destroying all spawned entities and cleaning up.");
-        for(Entity e : this.spawnedEntities) {
-            try {
-                if(e != null) { e.remove(); }
-            } catch (Exception ex) { StormWatch.log(ex); }
-        }
+        // Removal is spread over the next few ticks, nearest entities first; unloaded ones go when they load again.
+        var entities = StormWatch.getEntityRegistry().release(this.stormId);
+        StormWatch.getEntityReaper().reap(entities);
+        this.debugLog("Queued " + entities.size() + " remaining spawned entities for removal and cleaned up.");
     }
     protected final void setStormDurationTicks(int ticks) { this.stormDurationTicks = ticks; }
     protected final void setStormDurationEndPaddingTicks(int padding) { this.stormDurationEndPaddingTicks = padding; }
     protected final void setStrictConditionChecks(boolean isStrict) { this.strictConditionChecks = isStrict; }
     protected final void setCommandParameters(String[] cmdArgs) { this.commandParams = cmdArgs; }
     // TODO: Add more "internal" property setter methods that Storm extensions can adjust freely.
-    protected final void setXRange(Tuple<Integer, Integer> newRange) { this.xRange = newRange; }
-    protected final void setZRange(Tuple<Integer, Integer> newRange) { this.zRange = newRange; }
+    protected final void setXRange(IntRange newRange) { this.xRange = newRange; }
+    protected final void setZRange(IntRange newRange) { this.zRange = newRange; }
     /////
     // Explosive SET/modify methods.
 
@@ -633,8 +761,9 @@ public abstract class Storm implements StormManager.StormCallback {
         // Register the storm through the primary event listener (StormManager).
         var stormEvent = new StormStartEvent(this.getBaseSpawnLocation().getWorld(), this);
         Bukkit.getPluginManager().callEvent(stormEvent);
-        // Set the storm type to started.
+        // Set the storm type to started, and let the entity registry know its entities aren't orphans.
         this.setStormIsOngoing(true);
+        StormWatch.getEntityRegistry().markActive(this.getStormId());
         // Load the chunks as applicable.
         if(this.isLoadsChunks()) {
             try {
@@ -692,7 +821,7 @@ public abstract class Storm implements StormManager.StormCallback {
                     // Create the entities according to the method implementation..
                     for (int i = 0; i < count; i++) {
                         var x = instance.getNextEntity();
-                        if(x != null) { spawnedEntities.add(x); }
+                        if(x != null) { addSpawnedEntity(x); }
                     }
                 } catch (Exception ex) {
                     log(ex, "Problem spawning entity batch");
@@ -718,7 +847,7 @@ public abstract class Storm implements StormManager.StormCallback {
     private boolean baseConditionChecks() {
         if(this.isTimeRangeEnforced()) {
             int worldTime = (int)(this.getTargetPlayer().getWorld().getTime() % 24000);
-            if(worldTime < this.timeRange.a() || worldTime > this.timeRange.b()) {
+            if(!this.timeRange.contains(worldTime)) {
                 this.debugLog("Cannot start: explicit Time Range is enforced.");
                 return false;
             }
@@ -756,22 +885,12 @@ public abstract class Storm implements StormManager.StormCallback {
         StormWatch.getInstance().addRegisteredListener(instance);
     }
     //// WRAPPER FUNC: Get random value of value type between two values.
-    protected final int getRandomInt(Tuple<Integer,Integer> range) {
-        return this.getRandomInt(range.a(), range.b()); }
+    protected final int getRandomInt(IntRange range) { return range.sample(this.rng); }
+    // Between min (inclusive) and max (exclusive); the bounds may also be given in reverse.
     protected final int getRandomInt(int min, int max) {
-        try {
-            if ((max - min) < 0) {
-                return (min - this.rng.nextInt(Math.abs(max - min)));
-            } else {
-                return (this.rng.nextInt(max - min) + min);
-            }
-        } catch(Exception ex) { return 0; }
-    }
-    protected final double getRandomDouble(Tuple<Double,Double> range) {
-        return this.getRandomDouble(range.a(), range.b()); }
-    protected final double getRandomDouble(double min, double max) {
-        try {
-            return (this.rng.nextDouble() * (max - min)) + min;
-        } catch(Exception ex) { return 0.0; }
+        if(min == max) { return min; }
+        return max > min ? min + this.rng.nextInt(max - min) : min - this.rng.nextInt(min - max);
     }
+    protected final double getRandomDouble(DoubleRange range) { return range.sample(this.rng); }
+    protected final double getRandomDouble(double min, double max) { return min + this.rng.nextDouble() * (max - min); }
 }
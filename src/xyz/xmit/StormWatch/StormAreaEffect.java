@@ -0,0 +1,64 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Damageable;
+import org.bukkit.entity.Entity;
+
+
+/**
+ * Resolves spherical area effects (i.e. explosion damage) against the entities around a location. Rather than
+ * scanning the whole bounding box of the sphere, only the entity lists of loaded chunks that actually touch the
+ * sphere are walked, and each entity is checked against the sphere with its true squared distance before the
+ * effect is applied, all in a single pass.
+ */
+public final class StormAreaEffect {
+    private StormAreaEffect() { }
+
+
+    /**
+     * Damages every {@link Damageable} entity within a sphere. Chunks which aren't loaded (or whose entities
+     * aren't loaded) are skipped rather than loaded.
+     *
+     * @param center The center of the sphere.
+     * @param radius The radius of the sphere, in blocks.
+     * @param damage The amount of damage to deal at the center of the sphere.
+     * @param falloff Whether the damage falls off linearly with distance, down to nothing at the sphere's surface.
+     *                If not, every entity in the sphere takes the full damage.
+     * @return The amount of entities that were damaged.
+     */
+    public static int damageSphere(Location center, double radius, double damage, boolean falloff) {
+        World world = center.getWorld();
+        if(world == null || radius <= 0 || damage <= 0) { return 0; }
+        double cx = center.getX(), cy = center.getY(), cz = center.getZ();
+        double radiusSquared = radius * radius;
+        int minChunkX = (int)Math.floor((cx - radius) / 16), maxChunkX = (int)Math.floor((cx + radius) / 16);
+        int minChunkZ = (int)Math.floor((cz - radius) / 16), maxChunkZ = (int)Math.floor((cz + radius) / 16);
+        int damaged = 0;
+        for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for(int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                // Skip chunks whose nearest (horizontal) point is outside of the sphere; the corners of the
+                //   chunk square around a large sphere never touch it.
+                double nearestX = Math.max(chunkX * 16, Math.min(cx, chunkX * 16 + 16)) - cx;
+                double nearestZ = Math.max(chunkZ * 16, Math.min(cz, chunkZ * 16 + 16)) - cz;
+                if(nearestX*nearestX + nearestZ*nearestZ > radiusSquared) { continue; }
+                if(!world.isChunkLoaded(chunkX, chunkZ)) { continue; }
+                Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+                if(!chunk.isEntitiesLoaded()) { continue; }
+                for(Entity entity : chunk.getEntities()) {
+                    if(!(entity instanceof Damageable target) || entity.isDead()) { continue; }
+                    Location l = entity.getLocation();
+                    double dx = l.getX() - cx, dy = l.getY() - cy, dz = l.getZ() - cz;
+                    double distanceSquared = dx*dx + dy*dy + dz*dz;
+                    if(distanceSquared > radiusSquared) { continue; }
+                    double amount = falloff ? damage * (1.0 - Math.sqrt(distanceSquared) / radius) : damage;
+                    if(amount <= 0) { continue; }
+                    target.damage(amount);
+                    damaged++;
+                }
+            }
+        }
+        return damaged;
+    }
+}
@@ -0,0 +1,118 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Location;
+import org.bukkit.block.Biome;
+import org.bukkit.util.Vector;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+
+/**
+ * Analytic flight prediction for FallingBlock entities. A falling block's flight only depends on its spawn
+ * location, its initial velocity and the server's (fixed) falling-block physics: each tick, gravity is applied,
+ * the block moves, and then its velocity is dragged. Replaying that lets Storms know where (and when) a block
+ * will land as soon as it's spawned, so the landing site can be prepared before it arrives.
+ *
+ * @see StormTerrainSampler
+ */
+public final class StormBallistics {
+    /**
+     * Downward acceleration applied to falling blocks every tick, in blocks per tick².
+     */
+    public static final double FALLING_BLOCK_GRAVITY = 0.04;
+    /**
+     * Multiplier applied to a falling block's velocity at the end of every tick.
+     */
+    public static final double FALLING_BLOCK_DRAG = 0.98;
+    /**
+     * The longest flight (in ticks) that will be simulated.
+     */
+    public static final int MAX_SIMULATED_TICKS = 1200;
+
+    private StormBallistics() { }
+
+
+    /**
+     * A predicted landing: the block column and the Y coordinate the block will be placed at, how many ticks
+     * after spawning it arrives, and the biome found at the landing site (if the terrain was sampled).
+     */
+    public record Prediction(int x, int y, int z, int ticks, Biome biome) {
+        /**
+         * Gets the horizontal distance, in blocks, between this prediction and an actual landing column.
+         */
+        public double getHorizontalError(int actualX, int actualZ) { return Math.hypot(actualX - this.x, actualZ - this.z); }
+    }
+
+
+    /**
+     * Simulates the free flight of a falling block (ignoring terrain) until it falls below the given height.
+     *
+     * @param start The block's spawn location.
+     * @param velocity The block's initial velocity.
+     * @param minY The height at which to stop simulating (usually the world's minimum height).
+     * @return The block's position after each tick, as packed <em>x, y, z</em> triples.
+     */
+    public static double[] simulatePath(Location start, Vector velocity, double minY) {
+        double x = start.getX(), y = start.getY(), z = start.getZ();
+        double vx = velocity.getX(), vy = velocity.getY(), vz = velocity.getZ();
+        var path = new double[MAX_SIMULATED_TICKS * 3];
+        int ticks = 0;
+        while(ticks < MAX_SIMULATED_TICKS && y >= minY) {
+            vy -= FALLING_BLOCK_GRAVITY;
+            x += vx; y += vy; z += vz;
+            vx *= FALLING_BLOCK_DRAG; vy *= FALLING_BLOCK_DRAG; vz *= FALLING_BLOCK_DRAG;
+            path[ticks * 3] = x; path[ticks * 3 + 1] = y; path[ticks * 3 + 2] = z;
+            ticks++;
+        }
+        return Arrays.copyOf(path, ticks * 3);
+    }
+
+    /**
+     * Gets the distinct chunks a simulated path passes through at or below the given height, i.e. the chunks
+     * the block could possibly land in, in the order they're reached.
+     *
+     * @param path A path from {@link #simulatePath(Location, Vector, double)}.
+     * @param maxY The highest height at which the block could land (usually the world's maximum height).
+     * @return Chunk indices, as given by {@link StormTerrainSampler#chunkIndex(int, int)}.
+     */
+    public static long[] getChunksAlong(double[] path, double maxY) {
+        var chunks = new LinkedHashSet<Long>();
+        for(int i = 0; i < path.length; i += 3) {
+            if(path[i + 1] > maxY) { continue; }
+            chunks.add(StormTerrainSampler.chunkIndex((int)Math.floor(path[i]) >> 4, (int)Math.floor(path[i + 2]) >> 4));
+        }
+        return chunks.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * The result of tracing a path over sampled terrain: either the predicted landing, or the tick (counted from
+     * zero) at which the path first reaches a column that wasn't sampled, or neither if the path ends first.
+     */
+    public record Trace(Prediction landing, int unsampledTick) { }
+
+    /**
+     * Follows a simulated path over the sampled terrain until it first meets the ground (the first tick at which
+     * the block is at or below the top of the highest block in its column), or until it first reaches a column
+     * which wasn't sampled, low enough that it could land there. Safe to call off the main thread.
+     *
+     * @param path A path from {@link #simulatePath(Location, Vector, double)}.
+     * @param terrain A terrain view covering (some of) the path's chunks.
+     * @return Where the path lands, or where it leaves the sampled terrain.
+     */
+    public static Trace trace(double[] path, StormTerrainSampler.TerrainView terrain) {
+        for(int i = 0; i < path.length; i += 3) {
+            int x = (int)Math.floor(path[i]), z = (int)Math.floor(path[i + 2]);
+            int groundY = terrain.getHighestBlockY(x, z);
+            if(groundY == StormTerrainSampler.NOT_FOUND) {
+                // Nothing is known below this point; above the build height, there's nothing to land on anyway.
+                if(path[i + 1] <= terrain.getMaxY()) { return new Trace(null, i / 3); }
+                continue;
+            }
+            if(path[i + 1] <= groundY + 1) {
+                return new Trace(new Prediction(x, groundY + 1, z, i / 3 + 1, terrain.getBiome(x, groundY, z)), -1);
+            }
+        }
+        return new Trace(null, -1);
+    }
+}
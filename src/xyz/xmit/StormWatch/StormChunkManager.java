@@ -2,6 +2,7 @@ package xyz.xmit.StormWatch;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.util.*;
@@ -109,12 +110,35 @@ public class StormChunkManager {
                 }
             }
         }
-        this.stormsToChunkStrings.put(stormId, taggedChunksList);
+        this.stormsToChunkStrings.computeIfAbsent(stormId, k -> new ArrayList<>()).addAll(taggedChunksList);
         StormWatch.log(true,
             "Storm " + stormId + ", loaded chunks at ("+chunkX+","+chunkZ+"), " +
                     (chunksDiameter < 2 ? "single chunk" : "diameter of "+chunksDiameter));
     }
 
+    /**
+     * Tickets an explicit set of chunks for a Storm instance, e.g. the chunks along a predicted flight path, so
+     * they're loaded ahead of time. The chunks are added to any the Storm already has loaded, and are released
+     * along with them by {@link #unloadStormChunks(UUID)}.
+     *
+     * @param world The world the chunks are in.
+     * @param chunks The chunks to load, as given by {@link StormTerrainSampler#chunkIndex(int, int)}.
+     * @param stormId The unique ID of the Storm instance whose chunks should be loaded.
+     */
+    public final void loadChunks(World world, long[] chunks, UUID stormId) {
+        if(world == null || chunks.length == 0) { return; }
+        ArrayList<Chunk> taggedChunksList = new ArrayList<>();
+        for(long chunk : chunks) {
+            Chunk loadedChunk = world.getChunkAt((int)(chunk >> 32), (int)chunk);
+            if(!this.isChunkLoadedElsewhere(loadedChunk)) {
+                loadedChunk.addPluginChunkTicket(StormWatch.getInstance());
+            }
+            taggedChunksList.add(loadedChunk);
+        }
+        this.stormsToChunkStrings.computeIfAbsent(stormId, k -> new ArrayList<>()).addAll(taggedChunksList);
+        StormWatch.log(true, "Storm " + stormId + ", loaded " + chunks.length + " chunks ahead of time.");
+    }
+
 
     /**
      * Unloads all loaded/tagged plugin chunks.
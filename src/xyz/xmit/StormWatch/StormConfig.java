@@ -1,38 +1,97 @@
 package xyz.xmit.StormWatch;
 
-import net.minecraft.util.Tuple;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 
 /**
  * The primary configuration manager for the StormWatch plugin. Uses a limited
  * set of classes and methods to wrap the work of accessing the spigot config
- * into an easy-to-use abstraction.
+ * into an easy-to-use abstraction. While the plugin is enabled, the configuration
+ * file is also watched for outside edits, which are validated and applied live.
  *
  * @see #getConfigValue(String, String)
  */
 public final class StormConfig {
     /**
-     * Set on method construction to hold the initial StormWatch plugin configuration.
+     * Set on method construction to hold the initial StormWatch plugin configuration. This is the
+     * in-memory model used by the plugin, and it is swapped out whenever config.yml is edited live.
      */
     private FileConfiguration config;
+    /**
+     * Compiled, immutable per-type configuration profiles, keyed by each Storm type's TYPE_NAME. The map
+     * itself is never modified in place; it's replaced as a whole so that it can be read from any thread.
+     */
+    private volatile Map<String, StormProfile> profiles = Map.of();
+    /**
+     * Per-type sets of typed configuration sub-keys, captured from the types' default configurations on
+     * registration. Each key maps to either an enum type or to {@link IntRange}/{@link DoubleRange}, and
+     * profiles resolve (and validate) these nodes into those types when compiled.
+     */
+    private final Map<String, Map<String, Class<?>>> typedKeys = new ConcurrentHashMap<>();
+    /**
+     * How long (in milliseconds) the configuration watcher waits after a change to config.yml before
+     * reading it, so that editors which write the file in several steps are only reloaded once.
+     */
+    public static final long RELOAD_DEBOUNCE_MILLIS = 500L;
+    private Thread configWatcher;
+    private volatile String lastKnownContent;   //contents of config.yml as last written or applied by the plugin
+    /**
+     * How long (in server ticks) changes are collected before a queued write is snapshot and handed off
+     * to a background thread. Any further changes inside this window are folded into the same write.
+     */
+    public static final long WRITE_COALESCE_TICKS = 20L;
+    /**
+     * Nodes that have been changed in the in-memory configuration (new defaults, or values set by the plugin)
+     * but not yet written to disk. During the registration phase (plugin enablement), the defaults are all
+     * written in a single save. An entry is dropped once a write which includes it has landed; until then, it's
+     * re-applied over any live edit of config.yml, so neither side's change is lost. Guarded by itself, since
+     * the configuration watcher reads it off the main thread.
+     */
+    private final LinkedHashMap<String, PendingNode> pendingNodes = new LinkedHashMap<>();
+    private long pendingNodesVersion = 0;   //bumped whenever a node is queued, guarded by pendingNodes
+    // A queued node: its value, whether it's only a default (which a file's own value wins over), and the
+    //   sequence number of the first write snapshot that will include it.
+    private record PendingNode(Object value, boolean isDefault, long sequence) { }
+    private boolean isRegistrationPhase = true;
+    private BukkitTask pendingWrite;
+    //// Write ordering: snapshots are numbered on the main thread, and older snapshots are never written over newer ones.
+    private final Object writeLock = new Object();
+    private long writeSequence = 0, lastWrittenSequence = 0;
 
     public StormConfig() { this.config = StormWatch.getInstance().getConfig(); }
 
 
 
-    // TODO: TESTING NEW CONFIGURATION CODE
     /**
      * Used for all configuration key-name indexing on a per-Storm basis, and also for
      * the Storm super-class itself.
      *
      * @see Storm
      */
-    public interface ConfKeySet {
+    public interface ConfigKeySet {
         String getLabel();
+    }
+
+    // TODO: TESTING NEW CONFIGURATION CODE
+    /**
+     * A configuration key which also carries its own default value.
+     *
+     * @see ConfigKeySet
+     */
+    public interface ConfKeySet extends ConfigKeySet {
         Object getDefaultValue();
     }
 
@@ -72,9 +131,211 @@ public final class StormConfig {
 
 
     /**
-     * See: {@link #getConfigValueNoThrow(String, ConfKeySet)}
+     * Gets the compiled configuration profile for a Storm type.
+     *
+     * @param typeName The Storm type's TYPE_NAME field.
+     * @return The type's shared profile, or null if the type hasn't been compiled (registered) yet.
+     */
+    public final StormProfile getProfile(String typeName) { return this.profiles.get(typeName); }
+    /**
+     * Compiles (or re-compiles) the configuration profile for the given Storm type from the active
+     * configuration, replacing any previously-compiled profile for that type.
+     *
+     * @param typeName The Storm type's TYPE_NAME field.
+     * @return The newly-compiled profile.
+     * @throws Exception If the type's configuration is missing or malformed; the old profile is dropped.
+     */
+    protected final StormProfile compileProfile(String typeName) throws Exception {
+        var nextProfiles = new HashMap<>(this.profiles);
+        try {
+            var profile = StormProfile.compile(typeName, this.config, this.getTypedKeys(typeName));
+            nextProfiles.put(typeName, profile);
+            return profile;
+        } catch (Exception ex) {
+            nextProfiles.remove(typeName);
+            throw ex;
+        } finally {
+            this.profiles = Collections.unmodifiableMap(nextProfiles);
+        }
+    }
+    /**
+     * Registers a Storm type's default configuration and compiles its profile. Defaults given as enum
+     * constants (or arrays of enum constants) mark their nodes as enum-valued: they're written to the file
+     * as constant names, and resolved back into constants (and validated) whenever the profile is compiled.
+     * Likewise, defaults given as a two-element <code>int[]</code> or <code>double[]</code> mark their nodes
+     * as an {@link IntRange} or {@link DoubleRange}.
+     *
+     * @param typeName The Storm type's TYPE_NAME field.
+     * @param typeDefaults The type's full default configuration, keyed by sub-key of the type's root node.
+     * @return The newly-compiled profile.
+     * @throws Exception If the type's configuration is missing or malformed.
+     * @see #setDefaults(Map)
+     */
+    protected final StormProfile registerStormType(String typeName, Map<String, Object> typeDefaults) throws Exception {
+        var typeKeys = new HashMap<String, Class<?>>();
+        var fullPaths = new HashMap<String, Object>();
+        for(var entry : typeDefaults.entrySet()) {
+            var keyType = StormConfig.getTypedKeyType(entry.getValue());
+            if(keyType != null) { typeKeys.put(entry.getKey(), keyType); }
+            fullPaths.put(typeName + "." + entry.getKey(), entry.getValue());
+        }
+        this.typedKeys.put(typeName, Collections.unmodifiableMap(typeKeys));
+        this.setDefaults(fullPaths);
+        return this.compileProfile(typeName);
+    }
+    private Map<String, Class<?>> getTypedKeys(String typeName) {
+        return this.typedKeys.getOrDefault(typeName, Map.of());
+    }
+    // Get the type a default value declares for its node: an enum type, a range type, or null for anything else.
+    private static Class<?> getTypedKeyType(Object defaultValue) {
+        if(defaultValue instanceof Enum<?> constant) { return constant.getDeclaringClass(); }
+        if(defaultValue instanceof int[] pair && pair.length == 2) { return IntRange.class; }
+        if(defaultValue instanceof double[] pair && pair.length == 2) { return DoubleRange.class; }
+        if(defaultValue != null && defaultValue.getClass().isArray()
+                && defaultValue.getClass().getComponentType().isEnum()) {
+            return defaultValue.getClass().getComponentType();
+        }
+        return null;
+    }
+    /**
+     * Drops all compiled profiles. Used when the plugin is disabled.
+     */
+    protected final void clearProfiles() { this.profiles = Map.of(); }
+
+
+    /**
+     * Starts watching the plugin's data folder for changes to config.yml. Changed files are parsed and
+     * validated on the watcher thread, and every known Storm type's profile is compiled from the new
+     * content there as well. Only if all of that succeeds are the new configuration and profiles swapped
+     * in on the main thread. Storms which are already running keep the profile they were constructed with.
+     */
+    protected final void startWatching() {
+        if(this.configWatcher != null) { return; }
+        Path dataFolder = StormWatch.getInstance().getDataFolder().toPath();
+        try {
+            this.lastKnownContent = Files.readString(dataFolder.resolve("config.yml"), StandardCharsets.UTF_8);
+        } catch (IOException ex) { this.lastKnownContent = null; }
+        this.configWatcher = new Thread(() -> this.watchConfigFile(dataFolder), "StormWatch-ConfigWatcher");
+        this.configWatcher.setDaemon(true);
+        this.configWatcher.start();
+    }
+    /**
+     * Stops the configuration file watcher, if it's running.
+     */
+    protected final void stopWatching() {
+        if(this.configWatcher == null) { return; }
+        this.configWatcher.interrupt();
+        this.configWatcher = null;
+    }
+    // Watcher thread body. Blocks on the WatchService until interrupted.
+    private void watchConfigFile(Path dataFolder) {
+        try(WatchService watcher = dataFolder.getFileSystem().newWatchService()) {
+            dataFolder.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while(!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                boolean configChanged = false;
+                for(var event : key.pollEvents()) {
+                    if(event.context() instanceof Path p && p.toString().equals("config.yml")) { configChanged = true; }
+                }
+                if(!key.reset()) { break; }   //the data folder is gone
+                if(!configChanged) { continue; }
+                // Let the writer finish, then drop any events that piled up in the meantime.
+                Thread.sleep(StormConfig.RELOAD_DEBOUNCE_MILLIS);
+                WatchKey pending;
+                while((pending = watcher.poll()) != null) { pending.pollEvents(); pending.reset(); }
+                this.reloadFromDisk(dataFolder.resolve("config.yml"));
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Plugin is disabling.
+        } catch (IOException ex) {
+            StormWatch.log(false, Level.WARNING,
+                    "Unable to watch config.yml for changes; live configuration reloads are disabled.");
+            StormWatch.log(ex);
+        }
+    }
+    // Parse, validate and compile the file off the main thread; then hand the results over to be swapped in.
+    private void reloadFromDisk(Path configFile) {
+        String content;
+        Map<String, PendingNode> pending;
+        long pendingVersion;
+        var parsed = new YamlConfiguration();
+        var compiled = new HashMap<String, StormProfile>();
+        try {
+            // Read the file and the unwritten nodes together, so a write landing in between can't be counted twice.
+            synchronized(this.writeLock) {
+                content = Files.readString(configFile, StandardCharsets.UTF_8);
+                if(content.equals(this.lastKnownContent)) { return; }   //this was the plugin's own write
+                synchronized(this.pendingNodes) {
+                    pending = new LinkedHashMap<>(this.pendingNodes);
+                    pendingVersion = this.pendingNodesVersion;
+                }
+            }
+            parsed.loadFromString(content);
+            StormConfig.applyPendingNodes(parsed, pending);
+            for(String typeName : this.profiles.keySet()) {
+                compiled.put(typeName, StormProfile.compile(typeName, parsed, this.getTypedKeys(typeName)));
+            }
+        } catch (InvalidConfigurationException ex) {
+            StormWatch.log(false, Level.WARNING,
+                    "config.yml was changed but could not be parsed; keeping the current configuration.");
+            StormWatch.log(false, Level.WARNING, ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            StormWatch.log(false, Level.WARNING,
+                    "config.yml was changed but is not valid; keeping the current configuration.");
+            StormWatch.log(false, Level.WARNING, ex.getMessage());
+            return;
+        }
+        try {
+            new BukkitRunnable() {
+                public void run() { applyReload(parsed, compiled, content, pendingVersion); }
+            }.runTask(StormWatch.getInstance());
+        } catch (Exception ignored) {
+            // The plugin was disabled in the meantime.
+        }
+    }
+    // Swap in a validated configuration and its profiles. Main thread only.
+    private void applyReload(FileConfiguration newConfig, Map<String, StormProfile> newProfiles, String content, long pendingVersion) {
+        int unwritten;
+        boolean pendingChanged;
+        synchronized(this.pendingNodes) {
+            // Nodes queued while the file was being compiled weren't in the watcher's copy: apply them now too.
+            pendingChanged = pendingVersion != this.pendingNodesVersion;
+            if(pendingChanged) { StormConfig.applyPendingNodes(newConfig, this.pendingNodes); }
+            unwritten = this.pendingNodes.size();
+        }
+        this.config = newConfig;
+        var nextProfiles = new HashMap<>(this.profiles);
+        nextProfiles.putAll(newProfiles);
+        this.profiles = Collections.unmodifiableMap(nextProfiles);
+        if(pendingChanged) {
+            for(String typeName : newProfiles.keySet()) {
+                try {
+                    this.compileProfile(typeName);
+                } catch (Exception ex) {
+                    StormWatch.log(false, Level.WARNING,
+                            "Failed to compile the '" + typeName + "' type after applying changes from config.yml.");
+                    StormWatch.log(ex);
+                }
+            }
+        }
+        this.lastKnownContent = content;
+        // The file is missing the plugin's unwritten nodes (or an in-flight write is missing the file's edits):
+        //   write out the merged configuration.
+        if(unwritten > 0) {
+            StormWatch.log(true, "Kept " + unwritten + " unwritten plugin change(s) over the edited config.yml.");
+            this.queueWrite();
+        }
+        StormWatch.getInstance().loadBaseConfiguration();
+        StormWatch.getStormManager().refreshStormChances();
+        StormWatch.log(false, "Applied live changes from config.yml to " + newProfiles.size() + " Storm type(s).");
+    }
+
+
+    /**
+     * See: {@link #getConfigValueNoThrow(String, ConfigKeySet)}
      */
-    public static <T> T getConfigValueNoThrow(ConfKeySet subKeyNode) {
+    public static <T> T getConfigValueNoThrow(ConfigKeySet subKeyNode) {
         return StormConfig.getConfigValueNoThrow("", subKeyNode);
     }
     /**
@@ -83,7 +344,7 @@ public final class StormConfig {
      * fails, and absolves the need for the calling code to wrap the config query in a try-catch statement.
      * See: {@link #getConfigValue(String, String)}
      */
-    public static <T> T getConfigValueNoThrow(String rootNode, ConfKeySet subKeyNode) {
+    public static <T> T getConfigValueNoThrow(String rootNode, ConfigKeySet subKeyNode) {
         if(rootNode.isEmpty()) {
             try {
                 return StormConfig.getConfigValue(subKeyNode);
@@ -108,13 +369,13 @@ public final class StormConfig {
     /**
      * See: {@link #getConfigValue(String, String)}
      */
-    public static <T> T getConfigValue(String rootKey, ConfKeySet subNodeKey) throws Exception {
+    public static <T> T getConfigValue(String rootKey, ConfigKeySet subNodeKey) throws Exception {
         return StormConfig.getConfigValue(rootKey, subNodeKey.getLabel());
     }
     /**
      * See: {@link #getConfigValue(String, String)}
      */
-    public static <T> T getConfigValue(ConfKeySet baseKey) throws Exception {
+    public static <T> T getConfigValue(ConfigKeySet baseKey) throws Exception {
         return StormConfig.getConfigValue("", baseKey.getLabel());
     }
     /**
@@ -129,7 +390,7 @@ public final class StormConfig {
         String targetNode = rootKey.isEmpty() ? subNodeKey : (rootKey + "." + subNodeKey);
         try {
             @SuppressWarnings("unchecked")
-            T val = (T)StormWatch.getInstance().getConfig().get(targetNode);
+            T val = (T)StormWatch.getStormConfig().getConfigFile().get(targetNode);
             return val;
         } catch (Exception ex) {
             String message = "There was an issue getting configuration node: " + targetNode;
@@ -140,131 +401,181 @@ public final class StormConfig {
 
 
     /**
-     * Reloads the <code>config</code> variable for the instance. Should be called after a
-     * save-configuration operation usually.
-     */
-    protected final void reloadConfig() {
-        StormWatch.instance.reloadConfig();
-        this.config = StormWatch.instance.getConfig();
-    }
-    /**
-     * Used to set any default key/value pairs that aren't already set in the configuration.
+     * Used to set any default key/value pairs that aren't already set in the configuration. Missing nodes
+     * are merged straight into the in-memory configuration and queued to be written; the file is never
+     * re-parsed. While the plugin is still registering its types, all queued defaults are written together
+     * by {@link #completeRegistration()}. Afterwards (e.g. for types registered by other plugins), writes are
+     * coalesced into a single save on the next server tick.
      *
      * @param defaultPairs A set of default configuration key-value pairs to be set if they don't
      *                     already exist within the configuration.
      */
     protected final void setDefaults(Map<String, Object> defaultPairs) {
+        boolean added = false;
         for(String nodeName : defaultPairs.keySet()) {
             if(!this.config.contains(nodeName)) {
-                this.config.set(nodeName, defaultPairs.get(nodeName));
+                // Normalize arrays into lists (and enums into names), so the in-memory values match what a parsed file would hold.
+                var value = StormConfig.normalizeDefault(defaultPairs.get(nodeName));
+                this.config.set(nodeName, value);
+                this.queuePendingNode(nodeName, value, true);
+                added = true;
+            }
+        }
+        if(!this.isRegistrationPhase && added) { this.queueWrite(); }
+    }
+    /**
+     * Marks the end of the plugin's registration phase, writing every queued default node in one save.
+     */
+    protected final void completeRegistration() {
+        this.isRegistrationPhase = false;
+        if(this.hasPendingNodes()) { this.flushPendingWrites(); }
+    }
+    /**
+     * Immediately writes anything still queued to be saved. Used when the plugin is disabled, since any
+     * scheduled write task would otherwise be cancelled along with it.
+     */
+    protected final void flushPendingWrites() {
+        if(this.pendingWrite == null && !this.hasPendingNodes()) { return; }
+        if(this.pendingWrite != null) { this.pendingWrite.cancel(); this.pendingWrite = null; }
+        this.writeAtomically(this.config.saveToString(), ++this.writeSequence);
+    }
+    /**
+     * Queues a write of the in-memory configuration to disk. Every change made before the queued write is
+     * snapshot is written together: the YAML is serialized on the main thread once the coalescing window
+     * ends, and then written to a temporary file and moved into place on a background thread.
+     *
+     * @see #WRITE_COALESCE_TICKS
+     */
+    private void queueWrite() {
+        if(this.pendingWrite != null) { return; }
+        this.pendingWrite = new BukkitRunnable() {
+            public void run() {
+                pendingWrite = null;
+                synchronized(pendingNodes) {
+                    long defaults = pendingNodes.values().stream().filter(PendingNode::isDefault).count();
+                    if(defaults > 0) { StormWatch.log(true, "Writing " + defaults + " new default configuration node(s)."); }
+                }
+                // The configuration object isn't thread-safe, so it's serialized here before handing off.
+                String snapshot = config.saveToString();
+                long sequence = ++writeSequence;
+                new BukkitRunnable() {
+                    public void run() { writeAtomically(snapshot, sequence); }
+                }.runTaskAsynchronously(StormWatch.getInstance());
+            }
+        }.runTaskLater(StormWatch.getInstance(), StormConfig.WRITE_COALESCE_TICKS);
+    }
+    // Write the serialized configuration to a temporary file and atomically move it over config.yml.
+    private void writeAtomically(String serializedConfig, long sequence) {
+        synchronized(this.writeLock) {
+            if(sequence <= this.lastWrittenSequence) { return; }   //a newer snapshot was already written
+            File target = new File(StormWatch.getInstance().getDataFolder(), "config.yml");
+            File temp = new File(StormWatch.getInstance().getDataFolder(), "config.yml.tmp");
+            try {
+                Files.createDirectories(target.getParentFile().toPath());
+                Files.writeString(temp.toPath(), serializedConfig, StandardCharsets.UTF_8);
+                try {
+                    Files.move(temp.toPath(), target.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                this.lastWrittenSequence = sequence;
+                this.lastKnownContent = serializedConfig;
+                // Everything queued before this snapshot is on disk now.
+                synchronized(this.pendingNodes) { this.pendingNodes.values().removeIf(n -> n.sequence() <= sequence); }
+            } catch (IOException ex) {
+                StormWatch.log(false, Level.WARNING, "Failed to write the configuration file: " + ex.getMessage());
             }
         }
-        StormWatch.instance.saveConfig();
-        this.reloadConfig();
+    }
+    // Remember a node changed in memory until a write including it lands. Main thread only.
+    private void queuePendingNode(String nodeName, Object value, boolean isDefault) {
+        synchronized(this.pendingNodes) {
+            this.pendingNodes.put(nodeName, new PendingNode(value, isDefault, this.writeSequence + 1));
+            this.pendingNodesVersion++;
+        }
+    }
+    private boolean hasPendingNodes() {
+        synchronized(this.pendingNodes) { return !this.pendingNodes.isEmpty(); }
+    }
+    // Re-apply unwritten nodes over a freshly-parsed configuration. Values set by the plugin win over the
+    //   file's, but defaults only fill in nodes the file doesn't have.
+    private static void applyPendingNodes(FileConfiguration target, Map<String, PendingNode> pending) {
+        for(var entry : pending.entrySet()) {
+            if(entry.getValue().isDefault() && target.contains(entry.getKey())) { continue; }
+            target.set(entry.getKey(), entry.getValue().value());
+        }
+    }
+    // Convert primitive and object arrays to lists, and enum constants to their names.
+    private static Object normalizeDefault(Object value) {
+        if(value instanceof Enum<?> constant) { return constant.name(); }
+        if(value == null || !value.getClass().isArray()) { return value; }
+        var list = new ArrayList<Object>();
+        for(int i = 0; i < Array.getLength(value); i++) { list.add(StormConfig.normalizeDefault(Array.get(value, i))); }
+        return list;
     }
 
 
     /**
-     * Allows a value to be set directly for a configuration node.
+     * Allows a value to be set directly for a configuration node. The change is applied to the in-memory
+     * configuration immediately, the affected type's profile (if any) is re-compiled in place, and the
+     * file write is queued behind any other pending changes.
      * @param rootKey The Storm type-name (or other root node) to access.
      * @param subNodeKey The configuration sub-node of the root node.
      * @param value The value to try setting.
      * @return Whether or not the configuration node was set.
      */
-    protected final boolean setConfigValue(String rootKey, ConfKeySet subNodeKey, Object value) {
+    protected final boolean setConfigValue(String rootKey, ConfigKeySet subNodeKey, Object value) {
         String targetNode = rootKey.isEmpty() ? subNodeKey.getLabel() : (rootKey + "." + subNodeKey.getLabel());
         try {
             StormWatch.log(true,
                     "Attempting to set config node '" + targetNode + "' ==> '" + value.toString() + "'");
             this.config.set(targetNode, value);
+            this.queuePendingNode(targetNode, value, false);
         } catch(Exception ex) {
             StormWatch.log(false, Level.WARNING,
                     "Failed to set configuration node '" + targetNode + "' to value '" + value.toString() + "'");
             StormWatch.log(ex);
             return false;
         }
-        StormWatch.instance.saveConfig();
-        this.reloadConfig();
-        return true;
-    }
-
-
-    /**
-     * From notes, I believe this was my attempt at dissolving issues with Integer vs Double confusions,
-     * as well as easily abstracting all operations for extracting details from an input range.
-     * <em><u>Not implemented at this time.</u></em> Please ignore.
-     *
-     * @param <T> Type of Number extension to instantiate the RangedValue type with.
-     * @deprecated
-     */
-    // TODO: Revisit this and get it working/tested.
-    public static final class RangedValue<T extends Number> {
-        private final Random rand = new Random();
-        private final Tuple<T,T> valueRange;
-        private T currentValue;
-        private final Class<T> castedType;
-        public RangedValue(String typeName, ConfKeySet targetNode, Class<T> explicitType) throws Exception {
-            this.valueRange = StormConfig.getValueRange(typeName, targetNode);
-            this.castedType = explicitType;
-            this.setNewCurrentValue();
-        }
-        public final <T> T getSomeValue() {
-            if(this.castedType == Integer.class) {
-                return (T)(Integer)(
-                        (this.rand.nextInt() * (this.valueRange.b().intValue() - this.valueRange.a().intValue()))
-                                + this.valueRange.a().intValue()
-                );
-            } else if(this.castedType == Double.class) {
-                return (T)(Double)(
-                        (this.rand.nextDouble() * (this.valueRange.b().doubleValue() - this.valueRange.a().doubleValue()))
-                        + this.valueRange.a().doubleValue()
-                );
-            } else {
-                return null;
+        if(this.profiles.containsKey(rootKey)) {
+            try {
+                this.compileProfile(rootKey);
+            } catch (Exception ex) {
+                StormWatch.log(false, Level.WARNING,
+                        "Configuration node '" + targetNode + "' was set, but the '" + rootKey + "' type is now misconfigured.");
+                StormWatch.log(ex);
             }
         }
-        public final Tuple<T,T> getValueRange() { return this.valueRange; }
-        public final T getCurrentValue() { return this.currentValue; }
-        public final void setNewCurrentValue() { this.currentValue = this.getSomeValue(); }
+        this.queueWrite();
+        return true;
     }
 
 
     /**
-     * Return a configured range of values of type <em>T</em> as an iterable tuple object.
-     * This seems to abstract the need to defined the Integer vs Double conflicts, but needs testing first.
-     *
-     * @param typeName The storm's TYPE_NAME field, representing the root node in the configuration file.
-     * @param subKey The sub-key of the typeName (primary configuration node).
-     * @return A tuple of Integer objects representing an inclusive range between the two Integers as bounds.
-     * @throws Exception Raises any captured Exception objects higher.
-     */
-    public static <T> Tuple<T,T> getValueRange(String typeName, ConfKeySet subKey) throws Exception {
-        ArrayList<T> x = StormConfig.getConfigValue(typeName, subKey);
-        return new Tuple<>(x.get(0), x.get(1));
-    }
-
-    /**
-     * Return a configured range of integers as an iterable tuple object.
+     * Return a configured range of integers, read straight from the active configuration. Storm types
+     * should prefer their compiled profile's ranges; see: {@link StormProfile#getIntRange(ConfigKeySet)}.
      *
      * @param typeName The storm's TYPE_NAME field, representing the root node in the configuration file.
      * @param subKey The sub-key of the typeName (primary configuration node).
-     * @return A tuple of Integer objects representing an inclusive range between the two Integers as bounds.
-     * @throws Exception Raises any captured Exception objects higher.
+     * @return The range between the two configured bounds.
+     * @throws Exception If the node isn't a list of two numbers forming a valid range.
      */
-    public static Tuple<Integer,Integer> getIntegerRange(String typeName, ConfKeySet subKey) throws Exception {
-        ArrayList<Integer> x = StormConfig.getConfigValue(typeName, subKey);
-        return new Tuple<>(x.get(0), x.get(1));
+    public static IntRange getIntegerRange(String typeName, ConfigKeySet subKey) throws Exception {
+        ArrayList<Number> x = StormConfig.getConfigValue(typeName, subKey);
+        return new IntRange(x.get(0).intValue(), x.get(1).intValue());
     }
     /**
-     * Return a configured range of doubles as an iterable tuple object.
+     * Return a configured range of doubles, read straight from the active configuration. Storm types
+     * should prefer their compiled profile's ranges; see: {@link StormProfile#getDoubleRange(ConfigKeySet)}.
      *
      * @param typeName The storm's TYPE_NAME field, representing the root node in the configuration file.
      * @param subKey The sub-key of the typeName (primary configuration node).
-     * @return A tuple of Double objects representing an inclusive range between the two Doubles as bounds.
-     * @throws Exception Raises any captured Exception objects higher.
+     * @return The range between the two configured bounds.
+     * @throws Exception If the node isn't a list of two numbers forming a valid range.
      */
-    public static Tuple<Double,Double> getDoubleRange(String typeName, ConfKeySet subKey) throws Exception {
-        ArrayList<Double> x = StormConfig.getConfigValue(typeName, subKey);
-        return new Tuple<>(x.get(0), x.get(1));
+    public static DoubleRange getDoubleRange(String typeName, ConfigKeySet subKey) throws Exception {
+        ArrayList<Number> x = StormConfig.getConfigValue(typeName, subKey);
+        return new DoubleRange(x.get(0).doubleValue(), x.get(1).doubleValue());
     }
 }
@@ -0,0 +1,136 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Random;
+
+
+/**
+ * A lightweight alternative to {@link World#createExplosion(Location, float, boolean, boolean)} for very large
+ * yields. Rather than casting vanilla's explosion rays, the crater is read straight from a shared
+ * {@link VoxelSphere} table, and the blocks in it are rewritten in fixed-size batches over several ticks with
+ * physics updates turned off. The same walk over the table decides each block's fate, drops its debris and
+ * places fire, so every block in the crater is visited exactly once.
+ * <p>
+ * To keep the crater looking like an explosion's, a block only breaks when its blast resistance can't absorb
+ * the (jittered) blast strength left at its distance from the center, so tough blocks and liquids survive just
+ * as they would in vanilla. Blocks in unloaded chunks are skipped rather than loaded. Entity damage is not
+ * handled here; see {@link StormAreaEffect}.
+ */
+public final class StormCrater extends BukkitRunnable {
+    /**
+     * How far the crater reaches, in blocks per point of explosion yield.
+     */
+    public static final double RADIUS_PER_YIELD = 0.75;
+
+    private final World world;
+    private final Location center;
+    private final int centerX, centerY, centerZ;
+    private final float power;
+    private final double radius;
+    private final VoxelSphere shape;
+    private final boolean setsFire, breaksBlocks;
+    private final int blocksPerTick;
+    private final Random rng;
+    private final Runnable onComplete;
+    private int index = 0, removed = 0;
+
+    private StormCrater(Location center, float power, boolean setsFire, boolean breaksBlocks,
+                        int blocksPerTick, Random rng, Runnable onComplete) {
+        this.world = center.getWorld();
+        this.center = center.clone();
+        this.centerX = center.getBlockX(); this.centerY = center.getBlockY(); this.centerZ = center.getBlockZ();
+        this.power = power;
+        this.radius = power * RADIUS_PER_YIELD;
+        this.shape = VoxelSphere.of((int)Math.ceil(this.radius) * 2 + 1, false);
+        this.setsFire = setsFire;
+        this.breaksBlocks = breaksBlocks;
+        this.blocksPerTick = Math.max(1, blocksPerTick);
+        this.rng = rng;
+        this.onComplete = onComplete;
+    }
+
+
+    /**
+     * Plays an explosion's sound and particles at a location, then starts carving its crater over the
+     * following ticks. Must be called from the main thread.
+     *
+     * @param center The center of the explosion.
+     * @param power The explosion's yield, as would be passed to <em>createExplosion</em>.
+     * @param setsFire Whether fire is left on the crater's floor.
+     * @param breaksBlocks Whether the explosion breaks blocks. If not, only the effects (and fire) are applied.
+     * @param blocksPerTick The maximum amount of crater blocks to visit each tick.
+     * @param rng The source of randomness for the crater's rough edges, debris and fire.
+     * @param onComplete Run once on the main thread after the last block is written; may be null.
+     * @return The scheduled task, which can be cancelled to stop the crater part-way.
+     */
+    public static BukkitTask carve(Location center, float power, boolean setsFire, boolean breaksBlocks,
+                                   int blocksPerTick, Random rng, Runnable onComplete) {
+        World world = center.getWorld();
+        if(world == null || power <= 0) { throw new IllegalArgumentException("Craters need a world and a positive yield."); }
+        world.spawnParticle(Particle.EXPLOSION_HUGE, center, 1);
+        world.playSound(center, Sound.ENTITY_GENERIC_EXPLODE, 4.0f,
+                (1.0f + (rng.nextFloat() - rng.nextFloat()) * 0.2f) * 0.7f);
+        return new StormCrater(center, power, setsFire, breaksBlocks, blocksPerTick, rng, onComplete)
+                .runTaskTimer(StormWatch.getInstance(), 0L, 1L);
+    }
+
+
+    /**
+     * Gets the crater's reach from its center, in blocks.
+     */
+    public final double getRadius() { return this.radius; }
+    /**
+     * Gets the amount of blocks removed so far.
+     */
+    public final int getRemovedCount() { return this.removed; }
+
+
+    @Override
+    public void run() {
+        int end = Math.min(this.shape.size(), this.index + this.blocksPerTick);
+        for(; this.index < end; this.index++) {
+            int x = this.centerX + this.shape.getX(this.index);
+            int y = this.centerY + this.shape.getY(this.index);
+            int z = this.centerZ + this.shape.getZ(this.index);
+            if(y <= this.world.getMinHeight() || y >= this.world.getMaxHeight()) { continue; }
+            if(!this.world.isChunkLoaded(x >> 4, z >> 4)) { continue; }
+            double dx = x - this.centerX, dy = y - this.centerY, dz = z - this.centerZ;
+            double distance = Math.sqrt(dx*dx + dy*dy + dz*dz);
+            if(distance > this.radius) { continue; }
+            // The blast strength left at this distance, jittered like vanilla's rays so the rim is rough.
+            double strength = this.power * (0.7 + this.rng.nextDouble() * 0.6) * (1.0 - distance / (this.radius + 1.0));
+            Block block = this.world.getBlockAt(x, y, z);
+            Material type = block.getType();
+            if(this.breaksBlocks && !type.isAir()) {
+                if(type.getHardness() < 0 || (type.getBlastResistance() + 0.3) * 0.3 > strength) { continue; }
+                // As with vanilla explosions, each broken block drops its items with a chance of 1/yield.
+                if(this.rng.nextFloat() < 1.0f / this.power) {
+                    var dropAt = block.getLocation().add(0.5, 0.5, 0.5);
+                    for(ItemStack drop : block.getDrops()) { this.world.dropItemNaturally(dropAt, drop); }
+                }
+                block.setType(Material.AIR, false);
+                this.removed++;
+                type = Material.AIR;
+            }
+            // The block below was visited earlier in the table's walk, so it's already in its final state.
+            if(this.setsFire && type.isAir() && this.rng.nextInt(3) == 0
+                    && this.world.getBlockAt(x, y - 1, z).getType().isSolid()) {
+                block.setType(Material.FIRE, false);
+            }
+        }
+        if(this.index >= this.shape.size()) {
+            this.cancel();
+            StormWatch.log(true, "Crater at " + this.center.toVector() + " finished: removed " + this.removed + " blocks.");
+            if(this.onComplete != null) { this.onComplete.run(); }
+        }
+    }
+}
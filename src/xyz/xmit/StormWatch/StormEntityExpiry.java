@@ -0,0 +1,69 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.entity.Entity;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+
+/**
+ * A plugin-wide expiry queue for short-lived Storm entities. Rather than scheduling a removal task for every
+ * entity, Storms register each entity with a time-to-live; the entities are kept in a single queue ordered by
+ * their deadline tick, and one shared task removes everything that's due once per tick. Entities which are
+ * already gone by their deadline are simply dropped from the queue.
+ * <p>
+ * Deadlines are counted on the shared task's own run counter (see {@link StormLazyTask#getRuns()}), so a
+ * deadline is a number of ticks the queue has been busy for, which is the same thing as long as anything is queued.
+ *
+ * @see StormWatch#getEntityExpiry()
+ * @see Storm#expireEntityAfter(Entity, long)
+ */
+public final class StormEntityExpiry {
+    private final PriorityQueue<Expiry> queue = new PriorityQueue<>(Comparator.comparingLong(Expiry::deadline));
+    private final StormLazyTask expiryTask = new StormLazyTask(1L, this::expireDue);
+
+    private record Expiry(long deadline, Entity entity) { }
+
+
+    /**
+     * Queues an entity for removal after the given amount of ticks.
+     *
+     * @param entity The entity to remove.
+     * @param ticksToLive How many ticks from now to remove it. Values below 1 remove it on the next tick.
+     */
+    public final void expireAfter(Entity entity, long ticksToLive) {
+        if(entity == null) { return; }
+        this.queue.add(new Expiry(this.expiryTask.getRuns() + Math.max(1, ticksToLive), entity));
+        this.expiryTask.wake();
+    }
+    /**
+     * Gets the amount of entities waiting to expire.
+     */
+    public final int getQueuedCount() { return this.queue.size(); }
+    /**
+     * Removes every queued entity right away. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        for(Expiry e : this.queue) {
+            e.entity().remove();
+            StormWatch.getEntityJournal().removed(e.entity().getUniqueId());
+        }
+        this.queue.clear();
+        this.expiryTask.stop();
+    }
+
+
+    // Removes every entity whose deadline has been reached.
+    private boolean expireDue() {
+        while(!this.queue.isEmpty() && this.queue.peek().deadline() <= this.expiryTask.getRuns()) {
+            var entity = this.queue.poll().entity();
+            try {
+                if(entity.isValid()) {
+                    entity.remove();
+                    StormWatch.getEntityJournal().removed(entity.getUniqueId());
+                }
+            } catch (Exception ex) { StormWatch.log(true, "Couldn't expire an entity: " + ex.getMessage()); }
+        }
+        return !this.queue.isEmpty();
+    }
+}
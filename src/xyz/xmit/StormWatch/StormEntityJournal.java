@@ -0,0 +1,319 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * An append-only journal of the storm entities that are (or might still be) in the world, kept in the plugin's
+ * data folder so it survives an unclean shutdown. Each spawn appends a record of the entity's UUID, world and
+ * chunk; each removal appends a record of the UUID alone. Entities that are saved away with their chunk get a
+ * fresh record with the chunk they were saved in. On startup the journal is replayed, and only the chunks which
+ * still hold storm entities need to be checked for orphans (see {@link StormEntityReaper}).
+ * <p>
+ * Removals seen through events are passed on by the {@link StormEntityRegistry}, which already listens for them.
+ * <p>
+ * Records are fixed-size and written through a memory-mapped file, so an append is a handful of stores into
+ * memory: the operating system writes the pages out on its own, even if the server process dies. Every so often
+ * the journal is compacted down to one record per live entity. The compacted journal is written to a separate
+ * file and moved over the old one, so a crash part-way through leaves the old journal as it was.
+ *
+ * @see StormWatch#getEntityJournal()
+ */
+public final class StormEntityJournal implements Listener {
+    /**
+     * The size of each record, in bytes: the operation, the entity UUID, the world UUID, and the chunk coordinates.
+     */
+    public static final int RECORD_SIZE = 1 + 16 + 16 + 4 + 4;
+    /**
+     * How many records the journal file has room for when it's first created. It grows as needed.
+     */
+    public static final int INITIAL_CAPACITY_RECORDS = 4096;
+    /**
+     * How often (in ticks) the journal is checked for compaction.
+     */
+    public static final long COMPACT_INTERVAL_TICKS = 6000L;
+
+    private static final int MAGIC = 0x534A524E;   //"SJRN"
+    private static final int HEADER_SIZE = 8;   //magic, record size
+    // A zero operation byte marks the end of the journal. Records are only ever written into zero-filled space,
+    //   and the operation byte goes last, so a record torn by a crash reads as the end.
+    private static final byte END = 0, ADDED = 1, REMOVED = 2;
+
+    private final File file;
+    private final HashMap<UUID, Entry> live = new HashMap<>();
+    private FileChannel channel = null;
+    private MappedByteBuffer buffer = null;
+    private int writePosition = HEADER_SIZE;
+    private int appendedSinceCompaction = 0;
+    private BukkitTask compactTask = null;
+
+    private record Entry(UUID worldId, int chunkX, int chunkZ) { }
+
+
+    /**
+     * Creates a journal backed by the given file. Nothing is read or written until it's opened.
+     *
+     * @param file The journal file.
+     */
+    public StormEntityJournal(File file) { this.file = file; }
+
+
+    /**
+     * Opens the journal file (creating it if needed) and replays it, so that the entities left over from the
+     * last run are known.
+     *
+     * @return Whether the journal could be opened. If not, nothing is journaled.
+     */
+    public final boolean open() {
+        try {
+            //noinspection ResultOfMethodCallIgnored
+            this.file.getParentFile().mkdirs();
+            this.map(0);
+            this.replay();
+        } catch (IOException ex) {
+            StormWatch.log(false, "Couldn't open the storm entity journal: " + ex.getMessage());
+            this.close();
+            return false;
+        }
+        this.compactTask = new BukkitRunnable() {
+            public void run() { if(appendedSinceCompaction > live.size()) { compact(); } }
+        }.runTaskTimer(StormWatch.getInstance(), COMPACT_INTERVAL_TICKS, COMPACT_INTERVAL_TICKS);
+        return true;
+    }
+    /**
+     * Gets whether the journal is open.
+     */
+    public final boolean isOpen() { return this.buffer != null; }
+    /**
+     * Records a newly-spawned storm entity.
+     *
+     * @param entity The spawned entity.
+     */
+    public final void added(Entity entity) {
+        if(!this.isOpen() || entity == null) { return; }
+        var l = entity.getLocation();
+        var entry = new Entry(entity.getWorld().getUID(), l.getBlockX() >> 4, l.getBlockZ() >> 4);
+        if(entry.equals(this.live.put(entity.getUniqueId(), entry))) { return; }   //nothing new to record
+        this.append(ADDED, entity.getUniqueId(), entry);
+    }
+    /**
+     * Records that a storm entity has left the world. Entities that aren't journaled are ignored.
+     *
+     * @param entityId The unique ID of the entity.
+     */
+    public final void removed(UUID entityId) {
+        if(!this.isOpen() || this.live.remove(entityId) == null) { return; }
+        this.append(REMOVED, entityId, null);
+    }
+    /**
+     * Gets the amount of storm entities the journal considers to be in the world.
+     */
+    public final int getLiveCount() { return this.live.size(); }
+    /**
+     * Gets the currently-loaded chunks which the journal says are holding storm entities.
+     *
+     * @return A new list of the chunks.
+     */
+    public final List<Chunk> getLoadedJournaledChunks() {
+        var chunks = new ArrayList<Chunk>();
+        for(Entry e : new HashSet<>(this.live.values())) {
+            World w = Bukkit.getWorld(e.worldId());
+            if(w != null && w.isChunkLoaded(e.chunkX(), e.chunkZ())) { chunks.add(w.getChunkAt(e.chunkX(), e.chunkZ())); }
+        }
+        return chunks;
+    }
+    /**
+     * Rewrites the journal with one record per live entity. Entities whose chunk's entities are loaded but which
+     * can't be found there anymore (i.e. were removed without any event) are dropped. The new journal is written
+     * to a temporary file, flushed, and then moved over the old one.
+     */
+    public final void compact() {
+        if(!this.isOpen()) { return; }
+        this.live.entrySet().removeIf(entry -> {
+            var e = entry.getValue();
+            World w = Bukkit.getWorld(e.worldId());
+            if(w == null) { return false; }   //the world might just not be loaded yet
+            if(!w.isChunkLoaded(e.chunkX(), e.chunkZ()) || !w.getChunkAt(e.chunkX(), e.chunkZ()).isEntitiesLoaded()) { return false; }
+            var found = Bukkit.getEntity(entry.getKey());
+            return found == null || !found.isValid();
+        });
+        var compacted = ByteBuffer.allocate(HEADER_SIZE + this.live.size() * RECORD_SIZE);
+        compacted.putInt(0, MAGIC).putInt(4, RECORD_SIZE);
+        int pos = HEADER_SIZE;
+        for(var entry : this.live.entrySet()) {
+            StormEntityJournal.writeRecord(compacted, pos, ADDED, entry.getKey(), entry.getValue());
+            pos += RECORD_SIZE;
+        }
+        File temp = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+        try (var tempChannel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while(compacted.hasRemaining()) { tempChannel.write(compacted); }
+            tempChannel.force(true);
+        } catch (IOException ex) {
+            StormWatch.log(false, "Couldn't compact the storm entity journal: " + ex.getMessage());
+            return;   //the current journal is untouched, so keep appending to it
+        }
+        this.close();
+        try {
+            try {
+                Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            StormWatch.log(false, "Couldn't replace the storm entity journal with its compacted copy: " + ex.getMessage());
+        }
+        try {
+            // Whichever file is in place now, its records end where its zero-filled space begins.
+            this.map(2L * HEADER_SIZE + 2L * this.live.size() * RECORD_SIZE);
+            this.writePosition = this.findEnd();
+        } catch (IOException ex) {
+            StormWatch.log(false, "Couldn't reopen the storm entity journal, closing it: " + ex.getMessage());
+            this.close();
+            return;
+        }
+        this.appendedSinceCompaction = 0;
+        StormWatch.getStats().increment("journal.compactions");
+    }
+    /**
+     * Compacts the journal (which flushes it to disk) and closes it. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        if(this.compactTask != null) { this.compactTask.cancel(); this.compactTask = null; }
+        this.compact();
+        this.close();
+        this.live.clear();
+    }
+
+
+    private void replay() {
+        if(this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != RECORD_SIZE) {
+            // A new (zero-filled) file, or not one of ours: start over.
+            if(this.buffer.getInt(0) != 0) { StormWatch.log(false, "The storm entity journal is unreadable; starting a new one."); }
+            for(int i = 0; i < this.buffer.capacity(); i++) { this.buffer.put(i, END); }
+            this.buffer.putInt(0, MAGIC).putInt(4, RECORD_SIZE);
+            return;
+        }
+        int pos = HEADER_SIZE, records = 0;
+        while(pos + RECORD_SIZE <= this.buffer.capacity()) {
+            byte op = this.buffer.get(pos);
+            if(op == END) { break; }
+            var entityId = new UUID(this.buffer.getLong(pos + 1), this.buffer.getLong(pos + 9));
+            if(op == ADDED) {
+                this.live.put(entityId, new Entry(new UUID(this.buffer.getLong(pos + 17), this.buffer.getLong(pos + 25)),
+                        this.buffer.getInt(pos + 33), this.buffer.getInt(pos + 37)));
+            } else if(op == REMOVED) {
+                this.live.remove(entityId);
+            } else { break; }   //torn or corrupt: nothing after this can be trusted
+            pos += RECORD_SIZE;
+            records++;
+        }
+        this.writePosition = pos;
+        this.appendedSinceCompaction = records;
+        StormWatch.log(true, "Replayed " + records + " storm entity journal records; "
+                + this.live.size() + " storm entities may have been left in the world.");
+    }
+
+    private void append(byte op, UUID entityId, Entry entry) {
+        this.ensureCapacity(1);
+        if(!this.isOpen()) { return; }
+        this.write(op, entityId, entry);
+        this.appendedSinceCompaction++;
+    }
+
+    private void write(byte op, UUID entityId, Entry entry) {
+        StormEntityJournal.writeRecord(this.buffer, this.writePosition, op, entityId, entry);
+        this.writePosition += RECORD_SIZE;
+    }
+
+    private static void writeRecord(ByteBuffer buf, int pos, byte op, UUID entityId, Entry entry) {
+        buf.putLong(pos + 1, entityId.getMostSignificantBits()).putLong(pos + 9, entityId.getLeastSignificantBits());
+        if(entry != null) {
+            buf.putLong(pos + 17, entry.worldId().getMostSignificantBits()).putLong(pos + 25, entry.worldId().getLeastSignificantBits());
+            buf.putInt(pos + 33, entry.chunkX()).putInt(pos + 37, entry.chunkZ());
+        }
+        buf.put(pos, op);
+    }
+
+    // Opens and maps the journal file, with room for at least the initial capacity (or the given size).
+    private void map(long minimumSize) throws IOException {
+        this.channel = FileChannel.open(this.file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(Math.max(this.channel.size(), minimumSize), HEADER_SIZE + (long)INITIAL_CAPACITY_RECORDS * RECORD_SIZE);
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // Finds where the mapped journal's records end.
+    private int findEnd() {
+        int pos = HEADER_SIZE;
+        while(pos + RECORD_SIZE <= this.buffer.capacity() && this.buffer.get(pos) != END) { pos += RECORD_SIZE; }
+        return pos;
+    }
+
+    // Makes room for the given amount of records, compacting first and growing the file only if that isn't enough.
+    private void ensureCapacity(int records) {
+        long needed = this.writePosition + (long)records * RECORD_SIZE;
+        if(needed <= this.buffer.capacity()) { return; }
+        if(this.appendedSinceCompaction > 0 && this.writePosition > HEADER_SIZE + (long)this.live.size() * RECORD_SIZE) {
+            this.compact();
+            if(!this.isOpen()) { return; }
+            needed = this.writePosition + (long)records * RECORD_SIZE;
+            if(needed <= this.buffer.capacity()) { return; }
+        }
+        try {
+            // The old mapping is released once it's garbage-collected; there's no unmapping it by hand.
+            long size = Math.max(needed, (long)this.buffer.capacity() * 2);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException ex) {
+            StormWatch.log(false, "Couldn't grow the storm entity journal, closing it: " + ex.getMessage());
+            this.close();
+        }
+    }
+
+    private void close() {
+        this.buffer = null;
+        if(this.channel != null) {
+            try { this.channel.close(); } catch (IOException ignored) { }
+            this.channel = null;
+        }
+    }
+
+
+    /**
+     * Records the chunk each storm entity is saved in as its chunk's entities are unloaded, since it's likely
+     * moved on from wherever it was spawned.
+     *
+     * @param e The EntitiesUnloadEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntitiesUnload(EntitiesUnloadEvent e) {
+        if(this.live.isEmpty()) { return; }
+        for(Entity entity : e.getEntities()) {
+            if(this.live.containsKey(entity.getUniqueId())) { this.added(entity); }
+        }
+    }
+}
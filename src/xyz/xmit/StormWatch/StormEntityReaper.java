@@ -0,0 +1,161 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+
+/**
+ * Removes the entities left behind by ending Storms without doing it all in one tick. Loaded entities are
+ * queued nearest-to-a-player first (those are the ones anybody would notice) and removed in bounded batches,
+ * one batch per tick. Entities whose chunks aren't loaded aren't touched at all.
+ * <p>
+ * Those are caught as orphans instead: entities tagged by a Storm which isn't running anymore (see
+ * {@link StormEntityRegistry#isOrphan(Entity)}), which also covers meteors still in flight when the server crashed.
+ * Rather than scanning every world for them, each chunk's entities are checked as they load, and the chunks
+ * which were already loaded when the plugin was enabled are swept a few at a time.
+ *
+ * @see StormWatch#getEntityReaper()
+ */
+public final class StormEntityReaper implements Listener {
+    /**
+     * The most entities removed per tick.
+     */
+    public static final int REMOVALS_PER_TICK = 64;
+    /**
+     * The most already-loaded chunks checked for orphans per tick, while sweeping.
+     */
+    public static final int CHUNKS_SWEPT_PER_TICK = 8;
+
+    private final ArrayDeque<Entity> removalQueue = new ArrayDeque<>();
+    private final ArrayDeque<Chunk> sweepQueue = new ArrayDeque<>();
+    private final StormLazyTask reapTask = new StormLazyTask(1L, this::removeBatch);
+    private final StormLazyTask sweepTask = new StormLazyTask(1L, this::sweepBatch);
+
+
+    /**
+     * Queues entities for removal. Entities nearest to a player (in their world) are removed first.
+     *
+     * @param entities The entities to remove.
+     */
+    public final void reap(Collection<Entity> entities) {
+        var loaded = new ArrayList<Entity>();
+        var distances = new HashMap<Entity, Double>();
+        for(Entity e : entities) {
+            if(e == null) { continue; }
+            var live = StormEntityRegistry.findLive(e);
+            if(live == null) {
+                continue;   //gone, or unloaded with its chunk: it's an orphan when it loads again
+            }
+            loaded.add(live);
+            distances.put(live, StormEntityReaper.getNearestPlayerDistanceSquared(live));
+        }
+        loaded.sort(Comparator.comparingDouble(distances::get));
+        this.removalQueue.addAll(loaded);
+        if(!this.removalQueue.isEmpty()) { this.reapTask.wake(); }
+    }
+    /**
+     * Starts checking every currently-loaded chunk for orphaned storm entities, a few chunks per tick. Chunks
+     * loaded after this is called are checked as they load instead.
+     */
+    public final void sweepLoadedChunks() {
+        var chunks = new ArrayList<Chunk>();
+        for(World w : Bukkit.getWorlds()) { chunks.addAll(List.of(w.getLoadedChunks())); }
+        this.sweepChunks(chunks);
+    }
+    /**
+     * Starts checking the given chunks for orphaned storm entities, a few chunks per tick.
+     *
+     * @param chunks The chunks to check.
+     */
+    public final void sweepChunks(Collection<Chunk> chunks) {
+        this.sweepQueue.addAll(chunks);
+        if(!this.sweepQueue.isEmpty()) { this.sweepTask.wake(); }
+    }
+    /**
+     * Gets the amount of loaded entities waiting to be removed.
+     */
+    public final int getQueuedCount() { return this.removalQueue.size(); }
+    /**
+     * Removes everything still queued right away, and stops sweeping. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        for(Entity e : this.removalQueue) {
+            e.remove();
+            StormWatch.getEntityJournal().removed(e.getUniqueId());
+        }
+        this.removalQueue.clear();
+        this.sweepQueue.clear();
+        this.reapTask.stop();
+        this.sweepTask.stop();
+    }
+
+
+    private boolean removeBatch() {
+        for(int i = 0; i < REMOVALS_PER_TICK && !this.removalQueue.isEmpty(); i++) {
+            Entity e = this.removalQueue.poll();
+            try {
+                if(e.isValid()) {
+                    e.remove();
+                    StormWatch.getEntityJournal().removed(e.getUniqueId());
+                }   //otherwise gone, or unloaded while queued (and reaped as an orphan when it loads again)
+            } catch (Exception ex) { StormWatch.log(ex); }
+        }
+        return !this.removalQueue.isEmpty();
+    }
+
+    private boolean sweepBatch() {
+        List<Entity> orphans = new ArrayList<>();
+        for(int i = 0; i < CHUNKS_SWEPT_PER_TICK && !this.sweepQueue.isEmpty(); i++) {
+            Chunk c = this.sweepQueue.poll();
+            // Unloaded since being queued: it'll be checked when it loads again.
+            if(!c.isLoaded() || !c.isEntitiesLoaded()) { continue; }
+            for(Entity entity : c.getEntities()) { if(this.isOrphan(entity)) { orphans.add(entity); } }
+        }
+        if(!orphans.isEmpty()) { this.reap(orphans); }
+        return !this.sweepQueue.isEmpty();
+    }
+
+    // Counts each orphan found, so the stats show how much a crash (or reload) left behind.
+    private boolean isOrphan(Entity entity) {
+        if(!StormWatch.getEntityRegistry().isOrphan(entity)) { return false; }
+        StormWatch.getStats().increment("reaper.orphansFound");
+        return true;
+    }
+
+    private static double getNearestPlayerDistanceSquared(Entity e) {
+        Location l = e.getLocation();
+        double nearest = Double.MAX_VALUE;
+        for(Player p : e.getWorld().getPlayers()) { nearest = Math.min(nearest, p.getLocation().distanceSquared(l)); }
+        return nearest;
+    }
+
+
+    /**
+     * Removes any orphaned storm entities as their chunk's entities are loaded.
+     *
+     * @param e The EntitiesLoadEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntitiesLoad(EntitiesLoadEvent e) {
+        List<Entity> found = new ArrayList<>();
+        for(Entity entity : e.getEntities()) {
+            if(this.isOrphan(entity)) { found.add(entity); }
+        }
+        if(!found.isEmpty()) { this.reap(found); }
+    }
+}
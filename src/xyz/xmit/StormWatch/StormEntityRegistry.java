@@ -0,0 +1,244 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityDeathEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.entity.ProjectileHitEvent;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * The plugin-wide registry of entities spawned by Storms, keyed by entity UUID. An entity is dropped from the
+ * registry as soon as it's gone: when it explodes, lands (for falling blocks), hits something (for
+ * projectiles) or dies, and otherwise by a periodic sweep for dead entities. The registry's size therefore
+ * follows the amount of live storm entities, rather than everything spawned over each Storm's life.
+ * <p>
+ * Storm entities are also tagged (in their persistent data) with the ID and type of the Storm which spawned
+ * them, and the registry knows which Storms are still running. Any tagged entity whose Storm isn't running is
+ * an orphan, e.g. left over from a crash or a reload; see {@link StormEntityReaper}.
+ *
+ * @see StormWatch#getEntityRegistry()
+ * @see Storm#getSpawnedEntities()
+ */
+public final class StormEntityRegistry implements Listener {
+    /**
+     * How often (in ticks) the registry is swept for dead entities.
+     */
+    public static final long PRUNE_INTERVAL_TICKS = 100L;
+
+    private final HashMap<UUID, Tracked> tracked = new HashMap<>();
+    private final HashMap<UUID, HashSet<UUID>> entitiesByStorm = new HashMap<>();
+    private final HashSet<UUID> activeStorms = new HashSet<>();
+    private final NamespacedKey stormIdKey = new NamespacedKey(StormWatch.getInstance(), "storm_id");
+    private final NamespacedKey stormTypeKey = new NamespacedKey(StormWatch.getInstance(), "storm_type");
+    private final StormLazyTask pruneTask = new StormLazyTask(PRUNE_INTERVAL_TICKS, this::prune);
+
+    private record Tracked(Entity entity, UUID stormId) { }
+
+
+    /**
+     * Marks a Storm as running, so that its tagged entities aren't treated as orphans.
+     *
+     * @param stormId The unique ID of the Storm.
+     */
+    public final void markActive(UUID stormId) { if(stormId != null) { this.activeStorms.add(stormId); } }
+    /**
+     * Gets whether a Storm is still running.
+     */
+    public final boolean isActive(UUID stormId) { return this.activeStorms.contains(stormId); }
+    /**
+     * Tags an entity (in its persistent data) with the ID and type of the Storm which spawned it, without
+     * registering it. Used for entities which are left to their own devices, like falling blocks.
+     *
+     * @param stormId The unique ID of the Storm which spawned the entity.
+     * @param typeName The type name of the Storm which spawned the entity.
+     * @param entity The spawned entity.
+     */
+    public final void tag(UUID stormId, String typeName, Entity entity) {
+        if(stormId == null || entity == null) { return; }
+        var data = entity.getPersistentDataContainer();
+        data.set(this.stormIdKey, PersistentDataType.STRING, stormId.toString());
+        data.set(this.stormTypeKey, PersistentDataType.STRING, typeName);
+        StormWatch.getEntityJournal().added(entity);
+    }
+    /**
+     * Gets the ID of the Storm which spawned an entity, from its tag.
+     *
+     * @param entity The entity to check.
+     * @return The Storm's unique ID, or null if the entity isn't tagged.
+     */
+    public final UUID getTaggedStormId(Entity entity) {
+        var raw = entity.getPersistentDataContainer().get(this.stormIdKey, PersistentDataType.STRING);
+        if(raw == null) { return null; }
+        try { return UUID.fromString(raw); } catch (IllegalArgumentException ex) { return null; }
+    }
+    /**
+     * Gets the type name of the Storm which spawned an entity, from its tag, or null if it isn't tagged.
+     */
+    public final String getTaggedStormType(Entity entity) {
+        return entity.getPersistentDataContainer().get(this.stormTypeKey, PersistentDataType.STRING);
+    }
+    /**
+     * Gets whether an entity was tagged by a Storm which is no longer running.
+     */
+    public final boolean isOrphan(Entity entity) {
+        var stormId = this.getTaggedStormId(entity);
+        return stormId != null && !this.activeStorms.contains(stormId);
+    }
+
+    /**
+     * Tags and registers an entity as spawned by a Storm.
+     *
+     * @param stormId The unique ID of the Storm which spawned the entity.
+     * @param typeName The type name of the Storm which spawned the entity.
+     * @param entity The spawned entity.
+     */
+    public final void register(UUID stormId, String typeName, Entity entity) {
+        if(stormId == null || entity == null) { return; }
+        this.tag(stormId, typeName, entity);
+        this.tracked.put(entity.getUniqueId(), new Tracked(entity, stormId));
+        this.entitiesByStorm.computeIfAbsent(stormId, k -> new HashSet<>()).add(entity.getUniqueId());
+        this.pruneTask.wake();
+    }
+    /**
+     * Drops an entity from the registry, if it's registered.
+     *
+     * @param entityId The unique ID of the entity.
+     */
+    public final void unregister(UUID entityId) {
+        var t = this.tracked.remove(entityId);
+        if(t == null) { return; }
+        var stormEntities = this.entitiesByStorm.get(t.stormId());
+        if(stormEntities != null) {
+            stormEntities.remove(entityId);
+            if(stormEntities.isEmpty()) { this.entitiesByStorm.remove(t.stormId()); }
+        }
+    }
+    /**
+     * Gets the registered (live) entities spawned by a Storm.
+     *
+     * @param stormId The unique ID of the Storm.
+     * @return A new list of the Storm's entities.
+     */
+    public final List<Entity> getEntities(UUID stormId) {
+        var entities = new ArrayList<Entity>();
+        var stormEntities = this.entitiesByStorm.get(stormId);
+        if(stormEntities == null) { return entities; }
+        for(UUID id : stormEntities) { entities.add(this.tracked.get(id).entity()); }
+        return entities;
+    }
+    /**
+     * Drops all of a Storm's entities from the registry and hands them back, e.g. to be removed.
+     *
+     * @param stormId The unique ID of the Storm.
+     * @return The Storm's entities.
+     */
+    public final List<Entity> release(UUID stormId) {
+        var entities = this.getEntities(stormId);
+        this.forget(stormId);
+        return entities;
+    }
+    /**
+     * Drops all of a Storm's entities from the registry, leaving them in the world, and marks the Storm as no
+     * longer running. Used once a Storm has ended.
+     *
+     * @param stormId The unique ID of the Storm.
+     */
+    public final void forget(UUID stormId) {
+        this.activeStorms.remove(stormId);
+        var stormEntities = this.entitiesByStorm.remove(stormId);
+        if(stormEntities != null) { for(UUID id : stormEntities) { this.tracked.remove(id); } }
+    }
+    /**
+     * Gets the amount of entities currently registered, across all Storms.
+     */
+    public final int getTrackedCount() { return this.tracked.size(); }
+    /**
+     * Forgets everything. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        this.tracked.clear();
+        this.entitiesByStorm.clear();
+        this.activeStorms.clear();
+        this.pruneTask.stop();
+    }
+
+
+    /**
+     * Finds the live object for an entity. When an entity's chunk is unloaded and loaded again, the server creates a
+     * new object for it (with the same UUID), and the old one reads as dead.
+     *
+     * @param e The entity, as last seen.
+     * @return The entity's live object, or null if it's not currently in the world.
+     */
+    static Entity findLive(Entity e) {
+        if(e.isValid()) { return e; }
+        var fresh = Bukkit.getEntity(e.getUniqueId());
+        return fresh != null && fresh.isValid() ? fresh : null;
+    }
+    /**
+     * Gets whether the chunk an entity was last seen in (or that chunk's entities) isn't loaded right now.
+     */
+    static boolean isInUnloadedChunk(Entity e) {
+        Location l = e.getLocation();
+        int chunkX = l.getBlockX() >> 4, chunkZ = l.getBlockZ() >> 4;
+        return !e.getWorld().isChunkLoaded(chunkX, chunkZ) || !e.getWorld().getChunkAt(chunkX, chunkZ).isEntitiesLoaded();
+    }
+
+
+    // Drops dead entities which weren't caught by any of the events below (e.g. removed by another plugin or
+    //   despawned). Entities that were only unloaded with their chunk aren't gone, so they stay registered, and
+    //   entities that have been loaded again are re-pointed at their new objects.
+    private boolean prune() {
+        var dead = new ArrayList<UUID>();
+        for(var entry : this.tracked.entrySet()) {
+            var t = entry.getValue();
+            var live = StormEntityRegistry.findLive(t.entity());
+            if(live == null) {
+                if(!StormEntityRegistry.isInUnloadedChunk(t.entity())) { dead.add(entry.getKey()); }
+            } else if(live != t.entity()) {
+                entry.setValue(new Tracked(live, t.stormId()));
+            }
+        }
+        for(UUID id : dead) {
+            this.unregister(id);
+            StormWatch.getEntityJournal().removed(id);
+        }
+        return !this.tracked.isEmpty();
+    }
+
+
+    // A storm entity is leaving the world: drop it here, and note it in the journal. Tagged entities which
+    //   were never registered (like falling blocks) are still journaled, so they're covered too.
+    private void onLeavingWorld(Entity e) {
+        if(this.getTaggedStormId(e) == null) { return; }
+        this.unregister(e.getUniqueId());
+        StormWatch.getEntityJournal().removed(e.getUniqueId());
+    }
+
+    // Each of these events means the entity is about to be removed from the world, cancelled or not.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntityExplode(EntityExplodeEvent e) { this.onLeavingWorld(e.getEntity()); }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onProjectileHit(ProjectileHitEvent e) { this.onLeavingWorld(e.getEntity()); }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntityChangeBlock(EntityChangeBlockEvent e) {
+        if(e.getEntity() instanceof FallingBlock) { this.onLeavingWorld(e.getEntity()); }
+    }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntityDeath(EntityDeathEvent e) { this.onLeavingWorld(e.getEntity()); }
+}
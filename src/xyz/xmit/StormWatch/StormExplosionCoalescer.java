@@ -0,0 +1,154 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Fireball;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.ExplosionPrimeEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.UUID;
+
+
+/**
+ * Merges the explosions of storm fireballs which hit close together into single explosions. Each vanilla
+ * explosion does its own ray-casting and block updates, so a dense batch of fireballs landing in the same spot
+ * within a tick or two costs many times what one bigger explosion would.
+ * <p>
+ * Storms opt in per Storm ID with a {@link Policy}. When one of their (tagged) fireballs is about to explode, the
+ * explosion is cancelled and the hit is added to a pending cluster: the first cluster with the same policy, in
+ * the same world, whose center is within the policy's radius, or a new one. Hits are never merged across
+ * policies, so (say) a Storm which doesn't break blocks never feeds another Storm's block-breaking explosion.
+ * A cluster goes off once its window has passed, at the yield-weighted center of its hits, with a yield of
+ * <code>cbrt(sum of yield^3)</code>; an explosion's reach grows with its yield, so that keeps the total volume
+ * of the merged explosions the same.
+ * <p>
+ * The merged explosion has no source entity, so other plugins see it as a block explosion rather than a
+ * fireball's. Hits are held for at most the policy's window, which is meant to be a tick or two.
+ *
+ * @see StormWatch#getExplosionCoalescer()
+ */
+public final class StormExplosionCoalescer implements Listener {
+    /**
+     * How a Storm's fireball explosions are merged.
+     *
+     * @param radius How far (in blocks) from a pending cluster's center a hit can be to join it.
+     * @param windowTicks How many ticks a cluster waits for more hits, from its first hit, before it goes off.
+     * @param breaksBlocks Whether the merged explosions break blocks.
+     */
+    public record Policy(double radius, int windowTicks, boolean breaksBlocks) { }
+
+    private final HashMap<UUID, Policy> policies = new HashMap<>();
+    private final ArrayList<Cluster> pending = new ArrayList<>();
+    private final StormLazyTask flushTask = new StormLazyTask(1L, this::flushDue);
+
+    // Positions are summed weighted by yield^3, so the merged explosion sits nearest its biggest hits.
+    private static final class Cluster {
+        private final World world;
+        private final long deadline;
+        private final Policy policy;
+        private double weightedX, weightedY, weightedZ, totalWeight, yieldCubed;
+        private boolean setsFire;
+        private int hits;
+        private Cluster(World world, long deadline, Policy policy) {
+            this.world = world; this.deadline = deadline; this.policy = policy;
+        }
+        private void add(Location l, double yield, boolean fire) {
+            double yieldCubed = yield * yield * yield;
+            double weight = Math.max(yieldCubed, 1.0E-6);   //zero-yield hits still count towards the center, just barely
+            this.weightedX += l.getX() * weight; this.weightedY += l.getY() * weight; this.weightedZ += l.getZ() * weight;
+            this.totalWeight += weight;
+            this.yieldCubed += yieldCubed;
+            this.setsFire |= fire;
+            this.hits++;
+        }
+        private Location getCenter() {
+            return new Location(this.world, this.weightedX / this.totalWeight, this.weightedY / this.totalWeight, this.weightedZ / this.totalWeight);
+        }
+        private boolean accepts(Location l, Policy policy) {
+            return policy.equals(this.policy) && l.getWorld() == this.world
+                    && this.getCenter().distanceSquared(l) <= policy.radius() * policy.radius();
+        }
+    }
+
+
+    /**
+     * Starts merging the fireball explosions of a Storm.
+     *
+     * @param stormId The unique ID of the Storm.
+     * @param policy How to merge them.
+     */
+    public final void register(UUID stormId, Policy policy) {
+        if(stormId != null && policy != null) { this.policies.put(stormId, policy); }
+    }
+    /**
+     * Stops merging the fireball explosions of a Storm. Clusters already pending still go off.
+     *
+     * @param stormId The unique ID of the Storm.
+     */
+    public final void unregister(UUID stormId) { this.policies.remove(stormId); }
+    /**
+     * Gets the amount of merged explosions waiting to go off.
+     */
+    public final int getPendingCount() { return this.pending.size(); }
+    /**
+     * Sets off every pending explosion right away and forgets all policies. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        for(Cluster c : this.pending) { this.explode(c); }
+        this.pending.clear();
+        this.policies.clear();
+        this.flushTask.stop();
+    }
+
+
+    // Sets off every cluster whose window has passed.
+    private boolean flushDue() {
+        this.pending.removeIf(c -> {
+            if(c.deadline > this.flushTask.getRuns()) { return false; }
+            this.explode(c);
+            return true;
+        });
+        return !this.pending.isEmpty();
+    }
+
+    private void explode(Cluster c) {
+        float yield = (float)Math.cbrt(c.yieldCubed);
+        StormWatch.getStats().record("explosions.hitsPerExplosion", c.hits);
+        if(yield <= 0) { return; }
+        try {
+            c.world.createExplosion(c.getCenter(), yield, c.setsFire, c.policy.breaksBlocks());
+        } catch (Exception ex) { StormWatch.log(true, "Couldn't set off a merged explosion: " + ex.getMessage()); }
+    }
+
+
+    /**
+     * Intercepts the explosions of storm fireballs whose Storm has a merging policy.
+     *
+     * @param e The ExplosionPrimeEvent to handle.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public final void onExplosionPrime(ExplosionPrimeEvent e) {
+        if(this.policies.isEmpty() || !(e.getEntity() instanceof Fireball)) { return; }
+        var stormId = StormWatch.getEntityRegistry().getTaggedStormId(e.getEntity());
+        var policy = stormId == null ? null : this.policies.get(stormId);
+        if(policy == null) { return; }
+        e.setCancelled(true);   //the fireball is discarded either way
+        Location hit = e.getEntity().getLocation();
+        Cluster cluster = null;
+        for(Cluster c : this.pending) {
+            if(c.accepts(hit, policy)) { cluster = c; break; }
+        }
+        if(cluster == null) {
+            cluster = new Cluster(hit.getWorld(), this.flushTask.getRuns() + Math.max(1, policy.windowTicks()), policy);
+            this.pending.add(cluster);
+        } else {
+            StormWatch.getStats().increment("explosions.merged");
+        }
+        cluster.add(hit, e.getRadius(), e.getFire());
+        this.flushTask.wake();
+    }
+}
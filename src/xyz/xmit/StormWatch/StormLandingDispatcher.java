@@ -0,0 +1,78 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.block.Block;
+import org.bukkit.entity.FallingBlock;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+
+/**
+ * A single, plugin-wide listener which notifies Storms when their tracked FallingBlock entities land. Storms
+ * register the falling blocks they care about by UUID, and each landing (the block-placing
+ * {@link EntityChangeBlockEvent} fired by a falling block) is routed to the owning Storm's callback through a
+ * single hash lookup. Storms never listen to block events themselves, so they add no cost to unrelated block
+ * updates on the server.
+ * <p>
+ * Callbacks fire at most once: a tracked block is forgotten as soon as it lands. All methods are expected to be
+ * called from the main server thread.
+ *
+ * @see StormWatch#getLandingDispatcher()
+ */
+public final class StormLandingDispatcher implements Listener {
+    private final HashMap<UUID, BiConsumer<FallingBlock, Block>> trackedBlocks = new HashMap<>();
+
+
+    /**
+     * Start tracking a FallingBlock, running the given callback when it lands.
+     *
+     * @param block The falling block to track.
+     * @param onLanding The callback to run with the falling block and the block it turned into on landing.
+     */
+    public final void track(FallingBlock block, BiConsumer<FallingBlock, Block> onLanding) {
+        if(block == null || onLanding == null) { return; }
+        this.trackedBlocks.put(block.getUniqueId(), onLanding);
+    }
+    /**
+     * Stop tracking a FallingBlock, e.g. when its Storm ends before it lands.
+     *
+     * @param block The tracked falling block; nothing happens if it isn't tracked.
+     */
+    public final void untrack(FallingBlock block) {
+        if(block != null) { this.trackedBlocks.remove(block.getUniqueId()); }
+    }
+    /**
+     * Gets the amount of falling blocks currently tracked.
+     */
+    public final int getTrackedCount() { return this.trackedBlocks.size(); }
+    /**
+     * Forgets all tracked falling blocks. Used when the plugin is disabled.
+     */
+    protected final void clear() { this.trackedBlocks.clear(); }
+
+
+    /**
+     * Routes the landing of a tracked FallingBlock to its callback. Cancelled events are included,
+     * since the server discards the falling block either way.
+     *
+     * @param e The EntityChangeBlockEvent to handle.
+     * @see EntityChangeBlockEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public final void onEntityChangeBlock(EntityChangeBlockEvent e) {
+        if(this.trackedBlocks.isEmpty() || !(e.getEntity() instanceof FallingBlock block)) { return; }
+        var onLanding = this.trackedBlocks.remove(block.getUniqueId());
+        if(onLanding == null) { return; }
+        try {
+            onLanding.accept(block, e.getBlock());
+        } catch (Exception ex) {
+            StormWatch.log(false, "Problem handling the landing of a tracked falling block.");
+            StormWatch.log(ex);
+        }
+    }
+}
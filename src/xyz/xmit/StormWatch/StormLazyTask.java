@@ -0,0 +1,64 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * A repeating task for the plugin-wide services which only have work some of the time (queues of entities to
+ * expire or remove, streaks to draw, and the like). It's started by {@link #wake()} whenever work is added, and
+ * stops itself as soon as a run reports there's nothing left, so an idle service costs the scheduler nothing.
+ * <p>
+ * It also counts its own runs, which gives services a tick clock to schedule against without reading the
+ * server's tick counter: since the task runs whenever anything is waiting on that clock, it never falls behind.
+ */
+public final class StormLazyTask {
+    private final long periodTicks;
+    private final BooleanSupplier step;
+    private BukkitTask task = null;
+    private long runs = 0;
+
+
+    /**
+     * Creates a stopped task.
+     *
+     * @param periodTicks How often (in ticks) the task runs while it's awake. The first run comes one period after waking.
+     * @param step The work to do on each run, which returns whether there's any work left.
+     */
+    public StormLazyTask(long periodTicks, BooleanSupplier step) {
+        this.periodTicks = Math.max(1L, periodTicks);
+        this.step = step;
+    }
+
+
+    /**
+     * Starts the task, if it isn't already running.
+     */
+    public final void wake() {
+        if(this.task != null) { return; }
+        this.task = new BukkitRunnable() {
+            public void run() {
+                runs++;
+                if(!step.getAsBoolean()) { stop(); }
+            }
+        }.runTaskTimer(StormWatch.getInstance(), this.periodTicks, this.periodTicks);
+    }
+    /**
+     * Stops the task, if it's running. It can be woken again later.
+     */
+    public final void stop() {
+        if(this.task == null) { return; }
+        this.task.cancel();
+        this.task = null;
+    }
+    /**
+     * Gets whether the task is currently running.
+     */
+    public final boolean isRunning() { return this.task != null; }
+    /**
+     * Gets how many times the task has run, across every time it's been woken.
+     */
+    public final long getRuns() { return this.runs; }
+}
@@ -155,6 +155,19 @@ public final class StormManager implements Listener {
     }
 
 
+    /**
+     * Re-reads every registered type's spawn chance from its current configuration profile. Called when the
+     * configuration is changed live, so that the chance table always matches the newest profiles.
+     */
+    protected final void refreshStormChances() {
+        for(Class<? extends Storm> c : this.registeredStormTypes) {
+            var profile = StormWatch.getStormConfig().getProfile(this.registeredClassPathsToTypeNames.get(c.getName()));
+            if(profile == null) { continue; }
+            this.stormChances.put(c, profile.isEnabled() ? profile.getChance() : 0.00);
+        }
+    }
+
+
     /**
      * Very important managerial function that can be used by external plugins and extensions of the Storm class
      * to register their own Storm types and implementations. This is demonstrated in the sample
@@ -285,6 +298,9 @@ public final class StormManager implements Listener {
                 "~ StormEndEvent captured without a valid ID: " + stormId.toString());
         }
 
+        // The storm has cleaned up after itself by now: stop tracking whatever entities it left behind.
+        StormWatch.getEntityRegistry().forget(stormId);
+
         // Schedule a task with the configured delay to unload the Storm's chunks, only if they're not persistent.
         if(x.isLoadsChunks() && !x.isLoadedChunksPersistent()) {
             var t = new BukkitRunnable() {
@@ -0,0 +1,106 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.UUID;
+
+
+/**
+ * A plugin-wide renderer for entity-free visual effects. Storms hand it straight-line "streaks" (a start point,
+ * a constant velocity and a lifetime); each streak's trajectory is fixed up front, and a single shared task
+ * draws every active streak's trail with particles once per tick. Nothing is spawned in the world, so streaks
+ * cost no entity ticking, tracking or spawn/destroy packets.
+ * <p>
+ * Particles are sent to every player in range whether they're looking or not, so trails are kept short: a few
+ * particles per streak per tick, spaced along the distance it covered since the last tick.
+ *
+ * @see StormWatch#getParticleRenderer()
+ */
+public final class StormParticleRenderer {
+    /**
+     * The spacing (in blocks) between the particles drawn along a streak's trail each tick.
+     */
+    public static final double TRAIL_SPACING = 0.5;
+    /**
+     * The most particles drawn along a single streak's trail each tick.
+     */
+    public static final int MAX_TRAIL_PARTICLES = 8;
+
+    private final ArrayList<Streak> streaks = new ArrayList<>();
+    private final StormLazyTask renderTask = new StormLazyTask(1L, this::render);
+
+    private static final class Streak {
+        private final UUID ownerId;
+        private final World world;
+        private final Particle particle;
+        private final double x, y, z, vx, vy, vz;
+        private final int lifetimeTicks, trailParticles;
+        private int age = 0;
+        private Streak(UUID ownerId, Location start, Vector velocity, int lifetimeTicks, Particle particle) {
+            this.ownerId = ownerId;
+            this.world = start.getWorld();
+            this.particle = particle;
+            this.x = start.getX(); this.y = start.getY(); this.z = start.getZ();
+            this.vx = velocity.getX(); this.vy = velocity.getY(); this.vz = velocity.getZ();
+            this.lifetimeTicks = lifetimeTicks;
+            this.trailParticles = Math.max(1, Math.min(MAX_TRAIL_PARTICLES, (int)Math.ceil(velocity.length() / TRAIL_SPACING)));
+        }
+    }
+
+
+    /**
+     * Starts drawing a streak: a trail of particles moving in a straight line at a constant velocity.
+     *
+     * @param ownerId The unique ID of the Storm drawing the streak, so its streaks can be cleared together.
+     * @param start Where the streak starts.
+     * @param velocity The streak's velocity, in blocks per tick.
+     * @param lifetimeTicks How many ticks the streak is drawn for.
+     * @param particle The particle the trail is drawn with. It must not need any extra data.
+     */
+    public final void addStreak(UUID ownerId, Location start, Vector velocity, int lifetimeTicks, Particle particle) {
+        if(start.getWorld() == null || lifetimeTicks <= 0) { return; }
+        if(particle.getDataType() != Void.class) {
+            throw new IllegalArgumentException("Streak particles can't need extra data: " + particle);
+        }
+        this.streaks.add(new Streak(ownerId, start, velocity, lifetimeTicks, particle));
+        this.renderTask.wake();
+    }
+    /**
+     * Stops drawing all streaks belonging to a Storm.
+     *
+     * @param ownerId The unique ID of the Storm whose streaks should be cleared.
+     */
+    public final void clear(UUID ownerId) { this.streaks.removeIf(s -> s.ownerId.equals(ownerId)); }
+    /**
+     * Gets the amount of streaks currently being drawn.
+     */
+    public final int getActiveCount() { return this.streaks.size(); }
+    /**
+     * Stops drawing everything. Used when the plugin is disabled.
+     */
+    protected final void clear() {
+        this.streaks.clear();
+        this.renderTask.stop();
+    }
+
+
+    // Draws the trail each streak covered over the last tick, then drops any which have expired.
+    private boolean render() {
+        this.streaks.removeIf(s -> {
+            s.age++;
+            for(int i = 0; i < s.trailParticles; i++) {
+                // Spread the trail evenly back from the head to where the head was on the last tick.
+                double t = s.age - (double)i / s.trailParticles;
+                // Streaks are high in the sky, so they're forced out to players past the normal particle range.
+                s.world.spawnParticle(s.particle, s.x + s.vx * t, s.y + s.vy * t, s.z + s.vz * t,
+                        1, 0.0, 0.0, 0.0, 0.0, null, true);
+            }
+            return s.age >= s.lifetimeTicks;
+        });
+        return !this.streaks.isEmpty();
+    }
+}
@@ -0,0 +1,371 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+
+/**
+ * An immutable, compiled snapshot of a single Storm type's configuration. Profiles are built once per
+ * type by the {@link StormConfig} instance when the type is first registered (and again whenever the
+ * configuration is reloaded), and are then shared by every Storm instance of that type. This keeps the
+ * construction of a new Storm down to a handful of field copies, rather than dozens of dotted-path
+ * lookups into the plugin's YAML configuration.
+ * <p>
+ * Any node whose default value was given as an enum constant (or an array of them) is resolved into
+ * those constants here as well, and any node whose default was a pair of numbers into an {@link IntRange}
+ * or {@link DoubleRange}, so invalid values are reported once when the configuration loads instead of
+ * whenever a Storm starts.
+ *
+ * @see StormConfig#getProfile(String)
+ * @see Storm#getProfile()
+ */
+public final class StormProfile {
+    private final String typeName;
+    //// Required (base) configuration.
+    private final boolean enabled;
+    private final double chance;
+    private final Set<World.Environment> environments;
+    private final boolean environmentsEnforced;
+    private final IntRange cooldownRange, durationRange, spawnRateRange, spawnAmountRange,
+            pitchRange, yawRange, xRange, zRange, heightRange, timeRange;
+    private final DoubleRange speedRange;
+    private final boolean timeRangeEnforced, windy, followPlayer, cooldownEnabled, loadsChunks, loadedChunksPersistent,
+            cullsUnseenSpawns, viewBiased;
+    private final double viewConeHalfAngle, viewBiasAmbientFraction;
+    private final double windyChance;
+    private final int chunkLoadingDiameter, chunkLoadingUnloadDelay;
+    private final Set<String> exemptPlayers, exemptWorlds;
+    //// Explosive configuration. Types which don't use these nodes just get harmless zero-values.
+    private final boolean explosionEnabled, setsFires, breaksBlocks, explosionDamageFalloff;
+    private final double explosionDamage;
+    private final int explosionYield, explosionDamageRadius;
+    //// Every leaf value under the type's root node, for type-specific (extension) configuration.
+    private final Map<String, Object> values;
+    //// Enum-valued nodes, resolved to a single constant or an unmodifiable list of constants.
+    private final Map<String, Object> enumValues;
+    //// Ranged nodes, resolved to an IntRange or DoubleRange.
+    private final Map<String, Object> ranges;
+    //// Values derived from this profile by Storm types, computed once on first use.
+    private final Map<String, Object> derivedValues = new ConcurrentHashMap<>();
+
+
+    private StormProfile(String typeName, ConfigurationSection section,
+                         Map<String, Class<?>> typedKeys) throws Exception {
+        this.typeName = typeName;
+        // Snapshot all leaf nodes first, so the required-key reads below are plain map lookups.
+        var leafValues = new HashMap<String, Object>();
+        for(var entry : section.getValues(true).entrySet()) {
+            if(entry.getValue() instanceof ConfigurationSection) { continue; }
+            leafValues.put(entry.getKey(), StormProfile.freeze(entry.getValue()));
+        }
+        this.values = Collections.unmodifiableMap(leafValues);
+        // Resolve all typed (enum-valued and ranged) nodes, collecting every problem so they're reported together.
+        var resolvedEnums = new HashMap<String, Object>();
+        var resolvedRanges = new HashMap<String, Object>();
+        var problems = new ArrayList<String>();
+        var allTypedKeys = new HashMap<>(typedKeys);
+        allTypedKeys.put(Storm.RequiredConfigurationKeyNames.ENVIRONMENTS.label, World.Environment.class);
+        for(var entry : allTypedKeys.entrySet()) {
+            String key = entry.getKey();
+            Class<?> type = entry.getValue();
+            Object raw = leafValues.get(key);
+            if(raw == null) { continue; }
+            if(type == IntRange.class || type == DoubleRange.class) {
+                try {
+                    var pair = this.requireNumberPair(() -> key);
+                    resolvedRanges.put(key, type == IntRange.class
+                            ? new IntRange(pair.get(0).intValue(), pair.get(1).intValue())
+                            : new DoubleRange(pair.get(0).doubleValue(), pair.get(1).doubleValue()));
+                } catch (Exception ex) {
+                    problems.add(typeName + "." + key + ": " + ex.getMessage());
+                }
+            } else if(type.isEnum() && raw instanceof List<?> list) {
+                var constants = new ArrayList<Enum<?>>();
+                for(Object name : list) {
+                    var constant = StormProfile.resolveEnum(type, name);
+                    if(constant == null) {
+                        problems.add(typeName + "." + key + ": '" + name + "' is not a " + type.getSimpleName());
+                    } else { constants.add(constant); }
+                }
+                resolvedEnums.put(key, Collections.unmodifiableList(constants));
+            } else if(type.isEnum()) {
+                var constant = StormProfile.resolveEnum(type, raw);
+                if(constant == null) {
+                    problems.add(typeName + "." + key + ": '" + raw + "' is not a " + type.getSimpleName());
+                } else { resolvedEnums.put(key, constant); }
+            }
+        }
+        if(!problems.isEmpty()) {
+            throw new Exception("Invalid configuration for Storm type '" + typeName + "': " + String.join("; ", problems));
+        }
+        this.enumValues = Collections.unmodifiableMap(resolvedEnums);
+        this.ranges = Collections.unmodifiableMap(resolvedRanges);
+
+        this.enabled = this.requireBoolean(Storm.RequiredConfigurationKeyNames.ENABLED);
+        this.chance = this.requireDouble(Storm.RequiredConfigurationKeyNames.CHANCE);
+        this.environments = this.requireEnvironments();
+        this.environmentsEnforced = this.requireBoolean(Storm.RequiredConfigurationKeyNames.ENVIRONMENTS_ENFORCED);
+        this.cooldownRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.COOLDOWN_RANGE);
+        this.durationRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.DURATION_RANGE);
+        this.speedRange = this.getDoubleRange(Storm.RequiredConfigurationKeyNames.SPEED_RANGE);
+        this.pitchRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.PITCH_RANGE);
+        this.yawRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.YAW_RANGE);
+        this.xRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.X_RANGE);
+        this.zRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.Z_RANGE);
+        this.heightRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.HEIGHT_RANGE);
+        this.spawnRateRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.SPAWN_RATE_RANGE);
+        this.spawnAmountRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.SPAWN_AMOUNT_RANGE);
+        this.windy = this.requireBoolean(Storm.RequiredConfigurationKeyNames.WINDY);
+        this.windyChance = this.requireDouble(Storm.RequiredConfigurationKeyNames.WINDY_CHANCE);
+        this.followPlayer = this.requireBoolean(Storm.RequiredConfigurationKeyNames.FOLLOW_PLAYER);
+        this.timeRange = this.getIntRange(Storm.RequiredConfigurationKeyNames.TIME_RANGE);
+        this.timeRangeEnforced = this.requireBoolean(Storm.RequiredConfigurationKeyNames.TIME_RANGE_ENFORCED);
+        this.cooldownEnabled = this.requireBoolean(Storm.RequiredConfigurationKeyNames.COOLDOWN_ENABLED);
+        this.chunkLoadingDiameter = this.requireInt(Storm.RequiredConfigurationKeyNames.LOAD_CHUNKS_DIAMETER);
+        this.chunkLoadingUnloadDelay = this.requireInt(Storm.RequiredConfigurationKeyNames.LOAD_CHUNKS_UNLOAD_DELAY);
+        this.loadedChunksPersistent = this.requireBoolean(Storm.RequiredConfigurationKeyNames.LOAD_CHUNKS_PERSISTENT);
+        this.loadsChunks = this.requireBoolean(Storm.RequiredConfigurationKeyNames.LOAD_CHUNKS);
+        this.cullsUnseenSpawns = this.requireBoolean(Storm.RequiredConfigurationKeyNames.CULL_UNSEEN_SPAWNS);
+        this.viewBiased = this.requireBoolean(Storm.RequiredConfigurationKeyNames.VIEW_BIAS_ENABLED);
+        this.viewConeHalfAngle = Math.max(1, Math.min(180, this.requireDouble(Storm.RequiredConfigurationKeyNames.VIEW_BIAS_CONE_ANGLE)));
+        this.viewBiasAmbientFraction = Math.max(0, Math.min(1, this.requireDouble(Storm.RequiredConfigurationKeyNames.VIEW_BIAS_AMBIENT_FRACTION)));
+        this.exemptPlayers = Set.copyOf(this.requireStringList(Storm.RequiredConfigurationKeyNames.EXEMPT_PLAYERS));
+        this.exemptWorlds = Set.copyOf(this.requireStringList(Storm.RequiredConfigurationKeyNames.EXEMPT_WORLDS));
+
+        this.explosionEnabled = this.optionalBoolean(Storm.ExplosiveConfigurationKeyNames.EXPLODES);
+        this.setsFires = this.optionalBoolean(Storm.ExplosiveConfigurationKeyNames.INCENDIARY);
+        this.breaksBlocks = this.optionalBoolean(Storm.ExplosiveConfigurationKeyNames.BREAKS_BLOCKS);
+        this.explosionDamage = this.optionalNumber(Storm.ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE).doubleValue();
+        this.explosionYield = this.optionalNumber(Storm.ExplosiveConfigurationKeyNames.EXPLOSION_YIELD).intValue();
+        this.explosionDamageRadius = this.optionalNumber(Storm.ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_RADIUS).intValue();
+        this.explosionDamageFalloff = this.optionalBoolean(Storm.ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_FALLOFF);
+    }
+
+    /**
+     * Compiles a new profile from the given configuration root for the named Storm type.
+     *
+     * @param typeName The Storm type's TYPE_NAME field, representing its root node in the configuration.
+     * @param root The configuration (or section) holding the type's root node.
+     * @param typedKeys Sub-keys of the type's root node whose values resolve to the mapped enum or range type.
+     * @return A new immutable profile for the type.
+     * @throws Exception If the type's root node is missing, or if any required node is missing or malformed.
+     */
+    static StormProfile compile(String typeName, ConfigurationSection root,
+                                Map<String, Class<?>> typedKeys) throws Exception {
+        var section = root.getConfigurationSection(typeName);
+        if(section == null) {
+            throw new Exception("No configuration section exists for Storm type: " + typeName);
+        }
+        return new StormProfile(typeName, section, typedKeys);
+    }
+
+    // Find an enum constant by name (case-insensitive), or null if there's no such constant.
+    private static Enum<?> resolveEnum(Class<?> type, Object name) {
+        for(Object constant : type.getEnumConstants()) {
+            if(((Enum<?>)constant).name().equalsIgnoreCase(String.valueOf(name))) { return (Enum<?>)constant; }
+        }
+        return null;
+    }
+
+    // Make a defensive, immutable copy of any list values, since the profile is shared between instances.
+    private static Object freeze(Object value) {
+        if(value instanceof List<?> list) { return Collections.unmodifiableList(new ArrayList<>(list)); }
+        return value;
+    }
+
+
+    //////////////////////////////////////////////////////////
+    ////// Compilation helpers.
+    private Object require(StormConfig.ConfigKeySet key) throws Exception {
+        Object value = this.values.get(key.getLabel());
+        if(value == null) {
+            throw new Exception("Missing required configuration node: " + this.typeName + "." + key.getLabel());
+        }
+        return value;
+    }
+    private boolean requireBoolean(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.require(key) instanceof Boolean b) { return b; }
+        throw new Exception("Configuration node " + this.typeName + "." + key.getLabel() + " must be true or false.");
+    }
+    private double requireDouble(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.require(key) instanceof Number n) { return n.doubleValue(); }
+        throw new Exception("Configuration node " + this.typeName + "." + key.getLabel() + " must be a number.");
+    }
+    private int requireInt(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.require(key) instanceof Number n) { return n.intValue(); }
+        throw new Exception("Configuration node " + this.typeName + "." + key.getLabel() + " must be a whole number.");
+    }
+    private List<String> requireStringList(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.require(key) instanceof List<?> list) {
+            var strings = new ArrayList<String>();
+            for(Object o : list) { strings.add(String.valueOf(o)); }
+            return Collections.unmodifiableList(strings);
+        }
+        throw new Exception("Configuration node " + this.typeName + "." + key.getLabel() + " must be a list.");
+    }
+    private Set<World.Environment> requireEnvironments() throws Exception {
+        if(this.require(Storm.RequiredConfigurationKeyNames.ENVIRONMENTS) instanceof List<?>) {
+            var set = EnumSet.noneOf(World.Environment.class);
+            for(Object o : (List<?>)this.enumValues.get(Storm.RequiredConfigurationKeyNames.ENVIRONMENTS.label)) {
+                set.add((World.Environment)o);
+            }
+            return Collections.unmodifiableSet(set);
+        }
+        throw new Exception("Configuration node " + this.typeName + "."
+                + Storm.RequiredConfigurationKeyNames.ENVIRONMENTS.label + " must be a list.");
+    }
+    private List<Number> requireNumberPair(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.require(key) instanceof List<?> list && list.size() >= 2
+                && list.get(0) instanceof Number a && list.get(1) instanceof Number b) {
+            return List.of(a, b);
+        }
+        throw new Exception("Configuration node " + this.typeName + "." + key.getLabel() + " must be a list of two numbers.");
+    }
+    private boolean optionalBoolean(StormConfig.ConfigKeySet key) {
+        return this.values.get(key.getLabel()) instanceof Boolean b && b;
+    }
+    private Number optionalNumber(StormConfig.ConfigKeySet key) {
+        return this.values.get(key.getLabel()) instanceof Number n ? n : 0;
+    }
+
+
+    //////////////////////////////////////////////////////////
+    ////// GET methods.
+    public String getTypeName() { return this.typeName; }
+    public boolean isEnabled() { return this.enabled; }
+    public double getChance() { return this.chance; }
+    public Set<World.Environment> getEnvironments() { return this.environments; }
+    public boolean isEnvironmentsEnforced() { return this.environmentsEnforced; }
+    public IntRange getCooldownRange() { return this.cooldownRange; }
+    public IntRange getDurationRange() { return this.durationRange; }
+    public IntRange getSpawnRateRange() { return this.spawnRateRange; }
+    public IntRange getSpawnAmountRange() { return this.spawnAmountRange; }
+    public IntRange getPitchRange() { return this.pitchRange; }
+    public IntRange getYawRange() { return this.yawRange; }
+    public IntRange getXRange() { return this.xRange; }
+    public IntRange getZRange() { return this.zRange; }
+    public IntRange getHeightRange() { return this.heightRange; }
+    public IntRange getTimeRange() { return this.timeRange; }
+    public DoubleRange getSpeedRange() { return this.speedRange; }
+    public boolean isTimeRangeEnforced() { return this.timeRangeEnforced; }
+    public boolean isWindy() { return this.windy; }
+    public double getWindyChance() { return this.windyChance; }
+    public boolean isFollowPlayer() { return this.followPlayer; }
+    public boolean isCooldownEnabled() { return this.cooldownEnabled; }
+    public boolean isLoadsChunks() { return this.loadsChunks; }
+    public boolean isLoadedChunksPersistent() { return this.loadedChunksPersistent; }
+    public boolean isCullsUnseenSpawns() { return this.cullsUnseenSpawns; }
+    public boolean isViewBiased() { return this.viewBiased; }
+    public double getViewConeHalfAngle() { return this.viewConeHalfAngle; }
+    public double getViewBiasAmbientFraction() { return this.viewBiasAmbientFraction; }
+    public int getChunkLoadingDiameter() { return this.chunkLoadingDiameter; }
+    public int getChunkLoadingUnloadDelay() { return this.chunkLoadingUnloadDelay; }
+    public Set<String> getExemptPlayers() { return this.exemptPlayers; }
+    public Set<String> getExemptWorlds() { return this.exemptWorlds; }
+    public boolean isExplosionEnabled() { return this.explosionEnabled; }
+    public boolean isSetsFires() { return this.setsFires; }
+    public boolean isBreaksBlocks() { return this.breaksBlocks; }
+    public double getExplosionDamage() { return this.explosionDamage; }
+    public int getExplosionYield() { return this.explosionYield; }
+    public int getExplosionDamageRadius() { return this.explosionDamageRadius; }
+    public boolean isExplosionDamageFalloff() { return this.explosionDamageFalloff; }
+
+    /**
+     * Gets any compiled leaf value under the type's root node, for use by Storm extensions with their
+     * own configuration keys. List values are returned as unmodifiable lists.
+     *
+     * @param key The sub-key of the type's root node.
+     * @return The compiled value, or null if the node isn't set.
+     */
+    public <T> T getValue(StormConfig.ConfigKeySet key) {
+        @SuppressWarnings("unchecked")
+        T val = (T)this.values.get(key.getLabel());
+        return val;
+    }
+    /**
+     * Gets every compiled leaf value beneath a node, keyed by its path relative to that node. For example,
+     * a node <code>splash.biomeMaterials.DESERT</code> is returned under the key <code>DESERT</code> when
+     * asking for the children of <code>splash.biomeMaterials</code>.
+     *
+     * @param key The sub-key of the type's root node.
+     * @return An unmodifiable map of the node's leaf values, which is empty if the node has none.
+     */
+    public Map<String, Object> getChildValues(StormConfig.ConfigKeySet key) {
+        String prefix = key.getLabel() + ".";
+        var children = new HashMap<String, Object>();
+        for(var entry : this.values.entrySet()) {
+            if(entry.getKey().startsWith(prefix)) { children.put(entry.getKey().substring(prefix.length()), entry.getValue()); }
+        }
+        return Collections.unmodifiableMap(children);
+    }
+    /**
+     * Gets a value derived from this profile, computing it the first time it's requested. Storm types can
+     * use this to build lookup tables (etc.) from their configuration once per loaded configuration, rather
+     * than once per Storm; a reloaded configuration compiles a new profile, so derived values never go stale.
+     * Derived values are shared between threads and Storm instances, so they should be immutable.
+     *
+     * @param name A name for the derived value, unique within the Storm type.
+     * @param compute The function computing the value from this profile.
+     * @return The derived value.
+     */
+    public <T> T getDerivedValue(String name, Function<StormProfile, T> compute) {
+        @SuppressWarnings("unchecked")
+        T val = (T)this.derivedValues.computeIfAbsent(name, k -> compute.apply(this));
+        return val;
+    }
+    /**
+     * Gets a resolved enum-valued node. Only nodes whose registered default value was an enum constant are
+     * resolved; see: {@link #getValue(StormConfig.ConfigKeySet)} for anything else.
+     *
+     * @param key The sub-key of the type's root node.
+     * @param type The enum type of the node.
+     * @return The resolved constant, or null if the node isn't set or isn't a single constant of that type.
+     */
+    public <E extends Enum<E>> E getEnum(StormConfig.ConfigKeySet key, Class<E> type) {
+        Object value = this.enumValues.get(key.getLabel());
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+    /**
+     * Gets a resolved list of enum constants, for nodes whose registered default value was an array of
+     * enum constants. The returned list is unmodifiable and keeps the configured order (and any repeats).
+     *
+     * @param key The sub-key of the type's root node.
+     * @param type The enum type of the node's elements.
+     * @return The resolved constants, or an empty list if the node isn't set or isn't a list of that type.
+     */
+    public <E extends Enum<E>> List<E> getEnumList(StormConfig.ConfigKeySet key, Class<E> type) {
+        if(this.enumValues.get(key.getLabel()) instanceof List<?> list
+                && (list.isEmpty() || type.isInstance(list.get(0)))) {
+            @SuppressWarnings("unchecked")
+            List<E> constants = (List<E>)list;
+            return constants;
+        }
+        return List.of();
+    }
+    /**
+     * Gets a compiled range of integers. Nodes whose registered default was an <code>int[]</code> pair are
+     * compiled (and validated) with the profile; any other node is parsed on request.
+     *
+     * @throws Exception If the node isn't set or isn't a list of two numbers forming a valid range.
+     */
+    public IntRange getIntRange(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.ranges.get(key.getLabel()) instanceof IntRange range) { return range; }
+        var pair = this.requireNumberPair(key);
+        return new IntRange(pair.get(0).intValue(), pair.get(1).intValue());
+    }
+    /**
+     * Gets a compiled range of doubles. Nodes whose registered default was a <code>double[]</code> pair are
+     * compiled (and validated) with the profile; any other node is parsed on request.
+     *
+     * @throws Exception If the node isn't set or isn't a list of two numbers forming a valid range.
+     */
+    public DoubleRange getDoubleRange(StormConfig.ConfigKeySet key) throws Exception {
+        if(this.ranges.get(key.getLabel()) instanceof DoubleRange range) { return range; }
+        var pair = this.requireNumberPair(key);
+        return new DoubleRange(pair.get(0).doubleValue(), pair.get(1).doubleValue());
+    }
+}
@@ -0,0 +1,72 @@
+package xyz.xmit.StormWatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Plugin-wide runtime statistics, reported by the <code>/stormgr stats</code> command. Each named statistic
+ * keeps a running count, sum and extremes of the values recorded against it (counters just record 1s). All
+ * methods are expected to be called from the main server thread.
+ *
+ * @see StormWatch#getStats()
+ */
+public final class StormStats {
+    private final TreeMap<String, Stat> stats = new TreeMap<>();
+
+    private static final class Stat {
+        private long count;
+        private double sum, min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        private void add(double value) {
+            this.count++; this.sum += value;
+            this.min = Math.min(this.min, value); this.max = Math.max(this.max, value);
+        }
+    }
+
+
+    /**
+     * Increments a named counter.
+     *
+     * @param name The statistic's name, e.g. <em>impact.landingPredictionMissing</em>.
+     */
+    public final void increment(String name) { this.record(name, 1.0); }
+    /**
+     * Records a value against a named statistic.
+     *
+     * @param name The statistic's name, e.g. <em>impact.landingPredictionError</em>.
+     * @param value The value to record.
+     */
+    public final void record(String name, double value) { this.stats.computeIfAbsent(name, k -> new Stat()).add(value); }
+    /**
+     * Gets how many values have been recorded against a named statistic (i.e. a counter's value).
+     */
+    public final long getCount(String name) {
+        var stat = this.stats.get(name);
+        return stat == null ? 0 : stat.count;
+    }
+    /**
+     * Gets the mean of the values recorded against a named statistic, or 0 if there are none.
+     */
+    public final double getMean(String name) {
+        var stat = this.stats.get(name);
+        return stat == null || stat.count == 0 ? 0.0 : stat.sum / stat.count;
+    }
+    /**
+     * Formats every statistic into a line of text, in order of name.
+     */
+    public final List<String> getSummaryLines() {
+        var lines = new ArrayList<String>();
+        for(Map.Entry<String, Stat> entry : this.stats.entrySet()) {
+            var stat = entry.getValue();
+            lines.add(String.format("%s: count %d, mean %.2f, min %.2f, max %.2f",
+                    entry.getKey(), stat.count, stat.sum / stat.count, stat.min, stat.max));
+        }
+        return lines;
+    }
+    /**
+     * Clears all statistics.
+     */
+    public final void reset() { this.stats.clear(); }
+}
@@ -0,0 +1,241 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+
+/**
+ * A plugin-wide terrain sampling service for Storms. Snapshots of the chunks around a target area are taken on
+ * the main thread (and kept for a short while in a small LRU cache); queries against them (heightmaps, surface
+ * materials, biomes, digging for solid ground) then run asynchronously, and their results are handed back on the
+ * main thread. This lets Storms pick landing sites, burial depths, splash materials, etc. without reading live
+ * world blocks on the tick thread.
+ * <p>
+ * Only loaded chunks are ever sampled; queries about locations outside the sampled area return
+ * <em>null</em> or {@link #NOT_FOUND}.
+ *
+ * @see StormWatch#getTerrainSampler()
+ * @see TerrainView
+ */
+public final class StormTerrainSampler {
+    /**
+     * Returned by coordinate-finding queries when no result was found, or the location wasn't sampled.
+     */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+    /**
+     * The maximum amount of chunk snapshots kept in the cache.
+     */
+    public static final int MAX_CACHED_SNAPSHOTS = 64;
+    /**
+     * How long (in milliseconds) a cached snapshot can be reused before the chunk is sampled again.
+     */
+    public static final long SNAPSHOT_MAX_AGE_MILLIS = 1000L;
+
+    // Cached snapshots, keyed by world and chunk coordinates. Only accessed from the main thread.
+    private final LinkedHashMap<ChunkKey, CachedSnapshot> snapshotCache =
+            new LinkedHashMap<>(MAX_CACHED_SNAPSHOTS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ChunkKey, CachedSnapshot> eldest) {
+                    return this.size() > MAX_CACHED_SNAPSHOTS;
+                }
+            };
+    private record ChunkKey(UUID worldId, int x, int z) { }
+    private record CachedSnapshot(ChunkSnapshot snapshot, long takenAt) { }
+
+
+    /**
+     * Samples the loaded chunks around a location, then runs a query against them asynchronously. Must be called
+     * from the main thread.
+     *
+     * @param center The center of the area to sample.
+     * @param chunkRadius How many chunks around the center's chunk to sample (0 samples just that chunk).
+     * @param query The query to run off the main thread. It must only use the provided view.
+     * @param onResult Receives the query's result back on the main thread. It isn't called if the query fails.
+     */
+    public final <T> void query(Location center, int chunkRadius, Function<TerrainView, T> query, Consumer<T> onResult) {
+        this.query(this.sample(center, chunkRadius), query, onResult);
+    }
+    /**
+     * Runs a query asynchronously against an already-sampled view. Must be called from the main thread.
+     *
+     * @param view The view to query.
+     * @param query The query to run off the main thread. It must only use the provided view.
+     * @param onResult Receives the query's result back on the main thread. It isn't called if the query fails.
+     */
+    public final <T> void query(TerrainView view, Function<TerrainView, T> query, Consumer<T> onResult) {
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                final T result;
+                try {
+                    result = query.apply(view);
+                } catch (Exception ex) {
+                    StormWatch.log(false, Level.WARNING, "A terrain sampling query failed.");
+                    StormWatch.log(ex);
+                    return;
+                }
+                new BukkitRunnable() {
+                    public void run() { onResult.accept(result); }
+                }.runTask(StormWatch.getInstance());
+            }
+        }.runTaskAsynchronously(StormWatch.getInstance());
+    }
+
+    /**
+     * Samples the loaded chunks around a location into a view which can be queried from any thread. Must be
+     * called from the main thread.
+     *
+     * @param center The center of the area to sample.
+     * @param chunkRadius How many chunks around the center's chunk to sample (0 samples just that chunk).
+     * @return A view over the sampled chunks.
+     */
+    public final TerrainView sample(Location center, int chunkRadius) {
+        World world = center.getWorld();
+        if(world == null) { return new TerrainView(new HashMap<>(), 0, 0); }
+        int centerX = center.getBlockX() >> 4, centerZ = center.getBlockZ() >> 4;
+        var chunks = new long[(chunkRadius * 2 + 1) * (chunkRadius * 2 + 1)];
+        int i = 0;
+        for(int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+            for(int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                chunks[i++] = chunkIndex(x, z);
+            }
+        }
+        return this.sample(world, chunks);
+    }
+    /**
+     * Samples an explicit set of chunks into a view which can be queried from any thread, e.g. the chunks along
+     * a predicted flight path. Chunks which aren't loaded are skipped. Must be called from the main thread.
+     *
+     * @param world The world the chunks are in.
+     * @param chunks The chunks to sample, as given by {@link #chunkIndex(int, int)}.
+     * @return A view over the sampled chunks.
+     */
+    public final TerrainView sample(World world, long[] chunks) {
+        var snapshots = new HashMap<Long, ChunkSnapshot>();
+        long now = System.currentTimeMillis();
+        for(long chunk : chunks) {
+            int x = (int)(chunk >> 32), z = (int)chunk;
+            if(!world.isChunkLoaded(x, z)) { continue; }
+            var key = new ChunkKey(world.getUID(), x, z);
+            var cached = this.snapshotCache.get(key);
+            if(cached == null || now - cached.takenAt() > SNAPSHOT_MAX_AGE_MILLIS) {
+                cached = new CachedSnapshot(world.getChunkAt(x, z).getChunkSnapshot(true, true, false), now);
+                this.snapshotCache.put(key, cached);
+            }
+            snapshots.put(chunk, cached.snapshot());
+        }
+        return new TerrainView(snapshots, world.getMinHeight(), world.getMaxHeight());
+    }
+
+    /**
+     * Packs chunk coordinates into the single index used to address sampled chunks.
+     */
+    public static long chunkIndex(int chunkX, int chunkZ) { return ((long)chunkX << 32) | (chunkZ & 0xFFFFFFFFL); }
+
+    /**
+     * Drops any cached snapshots of the chunks around a location, e.g. after an explosion changes the terrain
+     * there. Must be called from the main thread.
+     *
+     * @param center The center of the changed area.
+     * @param chunkRadius How many chunks around the center's chunk to drop.
+     */
+    public final void invalidate(Location center, int chunkRadius) {
+        if(center.getWorld() == null) { return; }
+        int centerX = center.getBlockX() >> 4, centerZ = center.getBlockZ() >> 4;
+        for(int x = centerX - chunkRadius; x <= centerX + chunkRadius; x++) {
+            for(int z = centerZ - chunkRadius; z <= centerZ + chunkRadius; z++) {
+                this.snapshotCache.remove(new ChunkKey(center.getWorld().getUID(), x, z));
+            }
+        }
+    }
+
+    /**
+     * Drops all cached snapshots. Used when the plugin is disabled.
+     */
+    protected final void clear() { this.snapshotCache.clear(); }
+
+
+    /**
+     * An immutable view over a set of chunk snapshots, addressed by world (block) coordinates. Views are safe
+     * to query from any thread.
+     */
+    public static final class TerrainView {
+        private final Map<Long, ChunkSnapshot> snapshots;
+        private final int minY, maxY;
+
+        private TerrainView(Map<Long, ChunkSnapshot> snapshots, int minY, int maxY) {
+            this.snapshots = snapshots;
+            this.minY = minY;
+            this.maxY = maxY;
+        }
+        private ChunkSnapshot getSnapshot(int x, int z) { return this.snapshots.get(chunkIndex(x >> 4, z >> 4)); }
+
+        /**
+         * Gets whether the column at the given coordinates was sampled.
+         */
+        public final boolean isSampled(int x, int z) { return this.getSnapshot(x, z) != null; }
+        /**
+         * Gets the Y coordinate of the highest non-air block in a column, or {@link #NOT_FOUND}.
+         */
+        public final int getHighestBlockY(int x, int z) {
+            var snapshot = this.getSnapshot(x, z);
+            return snapshot == null ? NOT_FOUND : snapshot.getHighestBlockYAt(x & 15, z & 15);
+        }
+        /**
+         * Gets the material of the highest non-air block in a column, or null if it wasn't sampled.
+         */
+        public final Material getSurfaceMaterial(int x, int z) {
+            int y = this.getHighestBlockY(x, z);
+            return y == NOT_FOUND ? null : this.getMaterial(x, y, z);
+        }
+        /**
+         * Gets the material of a block, or null if it wasn't sampled.
+         */
+        public final Material getMaterial(int x, int y, int z) {
+            var snapshot = this.getSnapshot(x, z);
+            if(snapshot == null || y < this.minY || y >= this.maxY) { return null; }
+            return snapshot.getBlockType(x & 15, y, z & 15);
+        }
+        /**
+         * Gets the biome at a block, or null if it wasn't sampled.
+         */
+        public final Biome getBiome(int x, int y, int z) {
+            var snapshot = this.getSnapshot(x, z);
+            if(snapshot == null) { return null; }
+            return snapshot.getBiome(x & 15, Math.max(this.minY, Math.min(y, this.maxY - 1)), z & 15);
+        }
+        /**
+         * Searches downward from a block for the first block which isn't air (of any kind) or bedrock.
+         *
+         * @param x The block X coordinate.
+         * @param y The block Y coordinate to start searching from (inclusive).
+         * @param z The block Z coordinate.
+         * @param maxDepth The maximum amount of blocks to search.
+         * @return The Y coordinate of the first solid block found, or {@link #NOT_FOUND}.
+         */
+        public final int findSolidBelow(int x, int y, int z, int maxDepth) {
+            var snapshot = this.getSnapshot(x, z);
+            if(snapshot == null) { return NOT_FOUND; }
+            int lowest = Math.max(this.minY + 1, y - maxDepth);
+            for(int ny = Math.min(y, this.maxY - 1); ny >= lowest; ny--) {
+                Material m = snapshot.getBlockType(x & 15, ny, z & 15);
+                if(!m.isAir() && m != Material.BEDROCK) { return ny; }
+            }
+            return NOT_FOUND;
+        }
+        public final int getMinY() { return this.minY; }
+        public final int getMaxY() { return this.maxY; }
+    }
+}
@@ -0,0 +1,69 @@
+package xyz.xmit.StormWatch;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Answers whether a spawn at a given location could be seen by anyone. The server only sends an entity to the
+ * players within its (horizontal) entity tracking range, which is set per world in <em>spigot.yml</em> and
+ * further limited by the view distance; an entity spawned outside of every player's range, or in an unloaded
+ * chunk, costs server work without ever being seen.
+ */
+public final class StormVisibility {
+    /**
+     * The tracking range (in blocks) assumed for storm entities when <em>spigot.yml</em> doesn't set one.
+     */
+    public static final int DEFAULT_TRACKING_RANGE = 64;
+
+    // Tracking ranges by world name, read from spigot.yml on first use (the server also only reads it at startup).
+    private static final Map<String, Integer> trackingRanges = new ConcurrentHashMap<>();
+
+    private StormVisibility() { }
+
+
+    /**
+     * Gets the range (in blocks) within which players are sent storm entities (projectiles and the like) in
+     * the given world: its <em>entity-tracking-range.other</em> setting, capped by the server's view distance.
+     *
+     * @param world The world to get the tracking range for.
+     * @return The horizontal tracking range, in blocks.
+     */
+    public static int getEntityTrackingRange(World world) {
+        return StormVisibility.trackingRanges.computeIfAbsent(world.getName(), name -> {
+            int range = DEFAULT_TRACKING_RANGE;
+            try {
+                var spigotConfig = Bukkit.spigot().getConfig();
+                range = spigotConfig.getInt("world-settings." + name + ".entity-tracking-range.other",
+                        spigotConfig.getInt("world-settings.default.entity-tracking-range.other", DEFAULT_TRACKING_RANGE));
+            } catch (Exception ex) {
+                StormWatch.log(true, "Couldn't read the entity tracking range for world '" + name + "', using the default.");
+            }
+            return Math.min(range, Bukkit.getViewDistance() * 16);
+        });
+    }
+
+    /**
+     * Gets whether a location is in a loaded chunk and within the given horizontal range of any player in its world.
+     *
+     * @param loc The location to check.
+     * @param range The horizontal range, in blocks.
+     * @return Whether something spawned at the location could be seen.
+     */
+    public static boolean isVisible(Location loc, double range) {
+        World world = loc.getWorld();
+        if(world == null || !world.isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4)) { return false; }
+        double rangeSquared = range * range;
+        for(Player p : world.getPlayers()) {
+            Location pl = p.getLocation();
+            double dx = pl.getX() - loc.getX(), dz = pl.getZ() - loc.getZ();
+            if(dx*dx + dz*dz <= rangeSquared) { return true; }
+        }
+        return false;
+    }
+}
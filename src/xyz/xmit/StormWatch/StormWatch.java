@@ -7,6 +7,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.io.File;
 import java.util.*;
 import java.util.logging.Level;
 
@@ -26,12 +27,6 @@ public class StormWatch extends JavaPlugin {
      * when the server loads/enables the plugin.
      */
     protected static StormWatch instance;
-    /**
-     * Tracks registered Storm extensions that have had their default configurations populated
-     * during the current lifetime of the plugin. This variable exists primarily to prevent
-     * looping that would cause the configuration to be constantly accessed and/or overwritten.
-     */
-    protected static final ArrayList<Class> defaultConfigsSetForTypes = new ArrayList<>();
     /**
      * The plugin runs on its own timer by firing custom plugin events once at every interval in server
      * ticks, using this parameter to define that interval (as <strong>every 5 seconds</strong>). These
@@ -47,6 +42,15 @@ public class StormWatch extends JavaPlugin {
     private StormConfig stormConfig;
     private StormManager stormManager;
     private StormChunkManager stormChunkManager;
+    private StormLandingDispatcher landingDispatcher;
+    private StormTerrainSampler terrainSampler;
+    private StormStats stats;
+    private StormParticleRenderer particleRenderer;
+    private StormEntityExpiry entityExpiry;
+    private StormEntityRegistry entityRegistry;
+    private StormEntityReaper entityReaper;
+    private StormEntityJournal entityJournal;
+    private StormExplosionCoalescer explosionCoalescer;
     // Tick timer task.
     private BukkitTask tickTimerTask;
     // Debug flag. Config-specified.
@@ -111,6 +115,42 @@ public class StormWatch extends JavaPlugin {
      * Retrieves the plugin-wide single instance of the Storm Chunk Manager class.
      */
     public static StormChunkManager getStormChunkManager() { return StormWatch.getInstance().stormChunkManager; }
+    /**
+     * Retrieves the plugin-wide single instance of the falling-block landing dispatcher.
+     */
+    public static StormLandingDispatcher getLandingDispatcher() { return StormWatch.getInstance().landingDispatcher; }
+    /**
+     * Retrieves the plugin-wide single instance of the terrain sampling service.
+     */
+    public static StormTerrainSampler getTerrainSampler() { return StormWatch.getInstance().terrainSampler; }
+    /**
+     * Retrieves the plugin-wide runtime statistics.
+     */
+    public static StormStats getStats() { return StormWatch.getInstance().stats; }
+    /**
+     * Retrieves the plugin-wide single instance of the entity-free particle renderer.
+     */
+    public static StormParticleRenderer getParticleRenderer() { return StormWatch.getInstance().particleRenderer; }
+    /**
+     * Retrieves the plugin-wide single instance of the short-lived entity expiry queue.
+     */
+    public static StormEntityExpiry getEntityExpiry() { return StormWatch.getInstance().entityExpiry; }
+    /**
+     * Retrieves the plugin-wide single instance of the registry of storm-spawned entities.
+     */
+    public static StormEntityRegistry getEntityRegistry() { return StormWatch.getInstance().entityRegistry; }
+    /**
+     * Retrieves the plugin-wide single instance of the leftover storm entity reaper.
+     */
+    public static StormEntityReaper getEntityReaper() { return StormWatch.getInstance().entityReaper; }
+    /**
+     * Retrieves the plugin-wide single instance of the on-disk journal of live storm entities.
+     */
+    public static StormEntityJournal getEntityJournal() { return StormWatch.getInstance().entityJournal; }
+    /**
+     * Retrieves the plugin-wide single instance of the storm fireball explosion coalescer.
+     */
+    public static StormExplosionCoalescer getExplosionCoalescer() { return StormWatch.getInstance().explosionCoalescer; }
 
 
     /**
@@ -155,10 +195,80 @@ public class StormWatch extends JavaPlugin {
      */
     @Override
     public final void onEnable() {
-        // Set up the StormConfig instance and copy in the default configuration if needed.
+        // Set up the StormConfig instance and queue the default configuration if needed.
         this.stormConfig = new StormConfig();
         this.stormChunkManager = new StormChunkManager();
+        this.terrainSampler = new StormTerrainSampler();
+        this.stats = new StormStats();
+        this.particleRenderer = new StormParticleRenderer();
+        this.entityExpiry = new StormEntityExpiry();
         this.stormConfig.setDefaults(StormWatch.defaultConfig);
+        this.loadBaseConfiguration();
+
+        // Set up the Storm Manager event handler and register it.
+        this.stormManager = new StormManager();
+        this.getServer().getPluginManager().registerEvents(this.stormManager, this);
+        this.registeredListeners.add(this.stormManager);
+        // Set up the shared dispatcher for tracked falling-block landings.
+        this.landingDispatcher = new StormLandingDispatcher();
+        this.getServer().getPluginManager().registerEvents(this.landingDispatcher, this);
+        this.registeredListeners.add(this.landingDispatcher);
+        // Open the journal of storm entities in the world, which says where the last run's leftovers are.
+        this.entityJournal = new StormEntityJournal(new File(this.getDataFolder(), "entities.journal"));
+        boolean journalOpened = this.entityJournal.open();
+        this.getServer().getPluginManager().registerEvents(this.entityJournal, this);
+        this.registeredListeners.add(this.entityJournal);
+        // Set up the registry of storm-spawned entities, which drops entities as they leave the world.
+        this.entityRegistry = new StormEntityRegistry();
+        this.getServer().getPluginManager().registerEvents(this.entityRegistry, this);
+        this.registeredListeners.add(this.entityRegistry);
+        // Set up the reaper which removes ended storms' entities over several ticks (or when they load again).
+        this.entityReaper = new StormEntityReaper();
+        this.getServer().getPluginManager().registerEvents(this.entityReaper, this);
+        this.registeredListeners.add(this.entityReaper);
+        //   Anything storm-tagged in the chunks that are already loaded is left over from before: clear it out gradually.
+        //   The journal narrows that down to the chunks that had storm entities; without it, check them all.
+        if(journalOpened) { this.entityReaper.sweepChunks(this.entityJournal.getLoadedJournaledChunks()); }
+        else { this.entityReaper.sweepLoadedChunks(); }
+        // Set up the coalescer which merges storm fireball explosions that land close together.
+        this.explosionCoalescer = new StormExplosionCoalescer();
+        this.getServer().getPluginManager().registerEvents(this.explosionCoalescer, this);
+        this.registeredListeners.add(this.explosionCoalescer);
+        // All shipped types have registered their defaults by now: write them out in a single save.
+        this.stormConfig.completeRegistration();
+        // Apply any later edits to config.yml live.
+        this.stormConfig.startWatching();
+
+        // Register a task to fire an event every TickRate ticks.
+        this.tickTimerTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                // Create and fire a custom MeteorEvent.
+                var c = new StormTickEvent();
+                Bukkit.getPluginManager().callEvent(c);
+            }
+        }.runTaskTimer(this, (StormWatch.TickRate*2L), StormWatch.TickRate); //delay of TickRate*2 before starting
+
+        // Register the primary control command executor.
+        try {
+            var execAndCompleter = new StormWatchCommandExecutor();
+            Objects.requireNonNull(this.getCommand("stormgr"))
+                    .setExecutor(execAndCompleter);
+            Objects.requireNonNull(this.getCommand("stormgr"))
+                    .setTabCompleter(execAndCompleter);
+        } catch (Exception ex) {
+            StormWatch.log(false, Level.WARNING,
+            "Failed to register the 'stormgr' command executor. Commands will not be executable.");
+            StormWatch.log(ex);
+        }
+    }
+
+
+    /**
+     * Reads the top-level (plugin-wide) configuration nodes. Run on enable, and again whenever the
+     * configuration file is changed live.
+     */
+    protected final void loadBaseConfiguration() {
         try {
             this.debug = StormConfig.getConfigValue(BaseConfigurationKeyNames.DEBUG);
             if(this.debug) {
@@ -197,34 +307,6 @@ public class StormWatch extends JavaPlugin {
             StormWatch.log(false,
                     "Storm events globally exempted for Player names:   {" + String.join("; ", this.globalExemptPlayers) + "}");
         }
-
-        // Set up the Storm Manager event handler and register it.
-        this.stormManager = new StormManager();
-        this.getServer().getPluginManager().registerEvents(this.stormManager, this);
-        this.registeredListeners.add(this.stormManager);
-
-        // Register a task to fire an event every TickRate ticks.
-        this.tickTimerTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Create and fire a custom MeteorEvent.
-                var c = new StormTickEvent();
-                Bukkit.getPluginManager().callEvent(c);
-            }
-        }.runTaskTimer(this, (StormWatch.TickRate*2L), StormWatch.TickRate); //delay of TickRate*2 before starting
-
-        // Register the primary control command executor.
-        try {
-            var execAndCompleter = new StormWatchCommandExecutor();
-            Objects.requireNonNull(this.getCommand("stormgr"))
-                    .setExecutor(execAndCompleter);
-            Objects.requireNonNull(this.getCommand("stormgr"))
-                    .setTabCompleter(execAndCompleter);
-        } catch (Exception ex) {
-            StormWatch.log(false, Level.WARNING,
-            "Failed to register the 'stormgr' command executor. Commands will not be executable.");
-            StormWatch.log(ex);
-        }
     }
 
 
@@ -234,10 +316,20 @@ public class StormWatch extends JavaPlugin {
     @Override
     public final void onDisable() {
         try {
-            // Unload all loaded configurations.
-            StormWatch.defaultConfigsSetForTypes.clear();
+            // Write out any queued configuration changes, then unload all compiled configuration profiles.
+            this.stormConfig.stopWatching();
+            this.stormConfig.flushPendingWrites();
+            this.stormConfig.clearProfiles();
             // Unregister all event handlers.
             for(Listener l : this.getRegisteredListeners()) { HandlerList.unregisterAll(l); }
+            this.landingDispatcher.clear();
+            this.terrainSampler.clear();
+            this.particleRenderer.clear();
+            this.entityExpiry.clear();
+            this.entityRegistry.clear();
+            this.entityReaper.clear();
+            this.explosionCoalescer.clear();
+            this.entityJournal.clear();
             // Cancel the "tick" event task.
             this.tickTimerTask.cancel();
             // Unload any ticketed chunks.
@@ -288,10 +288,26 @@ public class StormWatchCommandExecutor implements CommandExecutor, TabCompleter
 
 
     // Statistics command.
-    // TODO: Implement
     private boolean statsCommand(String[] params) {
         if(params == null || params.length == 0) {
-            this.whoSent.sendMessage("STATS - Returns statistics. Subcommands:");
+            this.whoSent.sendMessage("""
+                    STATS - Returns statistics. Subcommands:
+                      SHOW - Shows all recorded runtime statistics.
+                      RESET - Clears all recorded runtime statistics."""
+            );
+            return true;
+        }
+        switch(params[0].toLowerCase(Locale.ROOT)) {
+            case "show" -> {
+                var lines = StormWatch.getStats().getSummaryLines();
+                if(lines.isEmpty()) { this.whoSent.sendMessage("No statistics have been recorded yet."); }
+                for(String line : lines) { this.whoSent.sendMessage("-- " + line); }
+            }
+            case "reset" -> {
+                StormWatch.getStats().reset();
+                this.whoSent.sendMessage(ChatColor.GREEN + "Statistics cleared.");
+            }
+            default -> this.whoSent.sendMessage(ChatColor.RED + "Invalid stats type: " + params[0]);
         }
         return true;
     }
@@ -0,0 +1,87 @@
+package xyz.xmit.StormWatch;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A precomputed table of integer block offsets making up a voxel sphere (or a hollow sphere's shell) of a
+ * given diameter. Tables are computed once per (diameter, hollow) pair using only integer squared-distance
+ * comparisons, cached for the life of the plugin, and shared by every caller; iterating one is just a walk
+ * over a flat array of packed <em>x, y, z</em> triples.
+ * <p>
+ * A point at offset (x, y, z) from the center belongs to a sphere of radius <em>r</em> (half the diameter,
+ * rounded down) when <code>x² + y² + z² &lt; (r+1)²</code>, and to its shell when additionally
+ * <code>x² + y² + z² &ge; r²</code>. This is the same set of points as truncating the true distance to an
+ * integer and comparing it against the radius.
+ */
+public final class VoxelSphere {
+    private static final Map<Integer, VoxelSphere> cache = new ConcurrentHashMap<>();
+
+    private final int diameter;
+    private final boolean hollow;
+    private final int[] offsets;   //packed x, y, z triples
+    private final int size;
+    private final int bottomIndex;
+
+    private VoxelSphere(int diameter, boolean hollow) {
+        this.diameter = diameter;
+        this.hollow = hollow;
+        int radius = diameter / 2;
+        int outerSquared = (radius + 1) * (radius + 1);
+        int innerSquared = hollow ? radius * radius : 0;
+        // Count first, so the table can be filled without any resizing.
+        int count = 0;
+        for(int x = -radius; x <= radius; x++) {
+            for(int y = -radius; y <= radius; y++) {
+                for(int z = -radius; z <= radius; z++) {
+                    int d = x*x + y*y + z*z;
+                    if(d < outerSquared && d >= innerSquared) { count++; }
+                }
+            }
+        }
+        this.size = count;
+        this.offsets = new int[count * 3];
+        int i = 0, bottom = 0;
+        for(int x = -radius; x <= radius; x++) {
+            for(int y = -radius; y <= radius; y++) {
+                for(int z = -radius; z <= radius; z++) {
+                    int d = x*x + y*y + z*z;
+                    if(d < outerSquared && d >= innerSquared) {
+                        if(x == 0 && y == -radius && z == 0) { bottom = i / 3; }
+                        this.offsets[i++] = x; this.offsets[i++] = y; this.offsets[i++] = z;
+                    }
+                }
+            }
+        }
+        this.bottomIndex = bottom;
+    }
+
+    /**
+     * Gets the shared voxel table for a sphere of the given diameter, computing it on first use.
+     *
+     * @param diameter The diameter of the sphere, in blocks. Values below 1 are treated as 1.
+     * @param hollow Whether only the sphere's outer shell should be included.
+     * @return The cached, immutable voxel table.
+     */
+    public static VoxelSphere of(int diameter, boolean hollow) {
+        int d = Math.max(1, diameter);
+        return VoxelSphere.cache.computeIfAbsent((d << 1) | (hollow ? 1 : 0), k -> new VoxelSphere(d, hollow));
+    }
+
+
+    public final int getDiameter() { return this.diameter; }
+    public final boolean isHollow() { return this.hollow; }
+    /**
+     * Gets the number of voxels in the table.
+     */
+    public final int size() { return this.size; }
+    /**
+     * Gets the index of the voxel at the very bottom of the sphere, directly below its center. It's part of
+     * both the solid sphere and its shell, and is the first voxel to touch the ground when the sphere falls.
+     */
+    public final int getBottomIndex() { return this.bottomIndex; }
+    public final int getX(int index) { return this.offsets[index * 3]; }
+    public final int getY(int index) { return this.offsets[index * 3 + 1]; }
+    public final int getZ(int index) { return this.offsets[index * 3 + 2]; }
+}
@@ -1,15 +1,14 @@
 package xyz.xmit.StormWatch.storms;
 
-import net.minecraft.util.Tuple;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.block.Biome;
+import org.bukkit.block.Block;
 import org.bukkit.entity.*;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
-import org.bukkit.event.block.BlockPhysicsEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import xyz.xmit.StormWatch.*;
 
@@ -18,13 +17,14 @@ import java.util.logging.Level;
 
 /**
  * Extends the Storm super-class to create a highly-modular, single-impact meteor, which creates
- * (optionally) large explosions and block "splashes" upon contacting any block. Registers itself
- * as a Bukkit event listener while "alive" to handle its own contact/impact event.
+ * (optionally) large explosions and block "splashes" upon contacting any block. The meteor's tracker
+ * block is registered with the plugin's shared landing dispatcher while "alive" to handle its own
+ * contact/impact event.
  *
  * @see Storm
- * @see Listener
+ * @see StormLandingDispatcher
  */
-public final class StormImpact extends Storm implements Listener {
+public final class StormImpact extends Storm {
     /**
      * The storm type's registered name.
      */
@@ -66,10 +66,12 @@ public final class StormImpact extends Storm implements Listener {
         SPLASH_ENABLED("splash.enabled"),
         SPLASH_TYPES("splash.materialTypes"),
         SPLASH_USE_NEARBY_TYPES("splash.intelligentMaterialTypes"),
+        SPLASH_BIOME_MATERIALS("splash.biomeMaterials"),
         SPLASH_AMOUNT_RANGE("splash.amountRangeInBlocks"),
         SPLASH_VELOCITY_RANGE("splash.velocity.xzFactorRange"),
         SPLASH_VERTICAL_IMPULSE_RANGE("splash.velocity.verticalImpulseMultiplierRange"),
         SPLASH_IMPULSE_PROPORTIONAL("splash.velocity.proportionalToMeteorSize"),
+        SPLASH_EMISSION_TICKS("splash.emissionDurationInTicks"),
         WARNING_SOUND("storm.playsWarningSoundToTarget"),
         METEOR_DOWNWARD_SPEED_RANGE("meteor.downwardSpeedRangeMultiplier"),
         METEOR_DIAMETER_RANGE("meteor.diameterRangeInBlocks"),
@@ -78,7 +80,12 @@ public final class StormImpact extends Storm implements Listener {
         METEOR_MATERIALS("meteor.materialTypes"),
         METEOR_MATERIALS_MIXED("meteor.compositionIsMixed"),
         METEOR_EXPLOSION_YIELD_PROPORTIONAL("meteor.explosion.proportionalYield"),
-        METEOR_EXPLOSION_DAMAGE_PROPORTIONAL("meteor.explosion.proportionalDamage");
+        METEOR_EXPLOSION_DAMAGE_PROPORTIONAL("meteor.explosion.proportionalDamage"),
+        METEOR_EXPLOSION_CRATER_MODE("meteor.explosion.craterMode"),
+        METEOR_EXPLOSION_CRATER_BLOCKS_PER_TICK("meteor.explosion.craterBlocksPerTick"),
+        METEOR_LOD_ENABLED("meteor.levelOfDetail.enabled"),
+        METEOR_LOD_FULL_DETAIL_DISTANCE("meteor.levelOfDetail.fullDetailDistance"),
+        METEOR_LOD_COARSEST_DETAIL_DISTANCE("meteor.levelOfDetail.coarsestDetailDistance");
         public final String label;
         StormImpactConfigurationKeyNames(String keyText) { this.label = keyText; }
         public final String getLabel() { return this.label; }
@@ -87,7 +94,7 @@ public final class StormImpact extends Storm implements Listener {
     //   Create default configuration overrides and custom keys.
     private static final HashMap<String, Object> defaultConfig = new HashMap<>() {{
             //////////put(RequiredConfigurationKeyNames.DURATION_RANGE.label, new int[]{20, 25}); //20-25 seconds for the meteor to land
-            // ^^ Making the duration too short will cause the Listener to unregister before the trackerBlock hits the ground.
+            // ^^ Making the duration too short will cause the trackerBlock to be untracked before it hits the ground.
             put(RequiredConfigurationKeyNames.FOLLOW_PLAYER.label, false);
             put(RequiredConfigurationKeyNames.CHANCE.label, 0.0011);
             put(RequiredConfigurationKeyNames.SPAWN_AMOUNT_RANGE.label, new int[]{0, 1});
@@ -106,99 +113,142 @@ public final class StormImpact extends Storm implements Listener {
             put(ExplosiveConfigurationKeyNames.EXPLOSION_DAMAGE_RADIUS.label, 30);
 
             // IMPACT-specific conf keys
-            //put(StormImpactConfigurationKeyNames.SPLASH_USE_NEARBY_TYPES.label, true); // use nearby ground-contact blocks in the splash?
+            put(StormImpactConfigurationKeyNames.SPLASH_USE_NEARBY_TYPES.label, true); // use nearby ground-contact blocks in the splash?
             // ^^ invalidates the SPLASH_TYPES key value
-            //put(StormImpactConfigurationKeyNames.SPLASH_ENABLED.label, true); //custom subclass config keys
+            put(StormImpactConfigurationKeyNames.SPLASH_BIOME_MATERIALS.label, new HashMap<String, Object>()); // biome name -> list of materials, overriding the defaults
+            put(StormImpactConfigurationKeyNames.SPLASH_ENABLED.label, true); //custom subclass config keys
             put(StormImpactConfigurationKeyNames.SPLASH_TYPES.label,
-                    new String[]{"OBSIDIAN", "NETHERRACK", "BLACKSTONE", "COAL_BLOCK", "BONE_BLOCK"});
+                    new Material[]{Material.OBSIDIAN, Material.NETHERRACK, Material.BLACKSTONE, Material.COAL_BLOCK, Material.BONE_BLOCK});
             put(StormImpactConfigurationKeyNames.SPLASH_AMOUNT_RANGE.label, new int[]{15, 45});
             put(StormImpactConfigurationKeyNames.SPLASH_VELOCITY_RANGE.label, new double[]{-0.2, 1.75});
             put(StormImpactConfigurationKeyNames.SPLASH_VERTICAL_IMPULSE_RANGE.label, new double[]{0.75, 2.75});
             put(StormImpactConfigurationKeyNames.SPLASH_IMPULSE_PROPORTIONAL.label, true);
+            put(StormImpactConfigurationKeyNames.SPLASH_EMISSION_TICKS.label, 10); // spread the splash blocks over this many ticks
             put(StormImpactConfigurationKeyNames.WARNING_SOUND.label, true);
             put(StormImpactConfigurationKeyNames.METEOR_DOWNWARD_SPEED_RANGE.label, new double[]{1.7, 5.0});
             put(StormImpactConfigurationKeyNames.METEOR_DIAMETER_RANGE.label, new int[]{3, 8});
             put(StormImpactConfigurationKeyNames.METEOR_HOLLOW.label, true);
             put(StormImpactConfigurationKeyNames.METEOR_LEAVE_DIAMOND_BLOCK.label, true); // leaves a diamond block at the impact site if true
-            put(StormImpactConfigurationKeyNames.METEOR_MATERIALS.label, new String[]{"GLOWSTONE", "OBSIDIAN"});
+            put(StormImpactConfigurationKeyNames.METEOR_MATERIALS.label, new Material[]{Material.GLOWSTONE, Material.OBSIDIAN});
             put(StormImpactConfigurationKeyNames.METEOR_MATERIALS_MIXED.label, false);
             put(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_YIELD_PROPORTIONAL.label, true);
             put(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_DAMAGE_PROPORTIONAL.label, true);
+            put(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_CRATER_MODE.label, false); // carve the crater directly instead of a vanilla explosion
+            put(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_CRATER_BLOCKS_PER_TICK.label, 4096);
+            put(StormImpactConfigurationKeyNames.METEOR_LOD_ENABLED.label, false); // thin out meteors that no player is close to
+            // Horizontal distances from the flight path. The default X/Z ranges put the target player within 142
+            //   blocks of the meteor's spawn column, so the meteors thrown at them always get full detail.
+            put(StormImpactConfigurationKeyNames.METEOR_LOD_FULL_DETAIL_DISTANCE.label, 160);
+            put(StormImpactConfigurationKeyNames.METEOR_LOD_COARSEST_DETAIL_DISTANCE.label, 320);
     }};
-    private static final class BiomesToMaterials {
-        private final ArrayList<Biome> biomes; private final ArrayList<Material> equivMats;
-        public BiomesToMaterials(ArrayList<Biome> b, ArrayList<Material> m) { this.biomes = b; this.equivMats = m; }
-        //public final boolean hasBiome(Biome b) { return this.biomes.contains(b); }
-        public final boolean getHasBiome(Biome b) { return this.biomes.contains(b); }
-        public final ArrayList<Material> getMaterials() { return this.equivMats; }
+    // The coarsest level of detail a meteor can be spawned at: a shell keeping 1 in every 2^(level-1) voxels.
+    private static final int MAX_DETAIL_LEVEL = 3;
+    // How long a landing sequence waits on the terrain sampler for the impact site's biome.
+    private static final int MAX_TERRAIN_WAIT_TICKS = 20;
+    // Name of the profile-derived biome table, see: compileSplashMaterials.
+    private static final String SPLASH_MATERIALS_TABLE = "splashBiomeMaterials";
+    // Default splash materials, for biomes that aren't otherwise mapped.
+    private static final Material[] defaultSplashMaterials = {Material.STONE, Material.DIRT, Material.SAND};
+    // Default per-biome "intelligent" splash materials. Built once and never modified; repeated materials weight the draw.
+    private static final Map<Biome, Material[]> biomeSplashMaterials;
+    static {
+        var mapping = new EnumMap<Biome, Material[]>(Biome.class);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.DIRT, Material.STONE, Material.COAL_ORE,
+                        Material.CLAY, Material.GRAVEL, Material.SAND, Material.OBSIDIAN, Material.GLOWSTONE},
+                Biome.FOREST, Biome.BIRCH_FOREST, Biome.TALL_BIRCH_HILLS, Biome.TALL_BIRCH_FOREST, Biome.BIRCH_FOREST_HILLS,
+                Biome.DARK_FOREST_HILLS, Biome.DARK_FOREST, Biome.CRIMSON_FOREST, Biome.FLOWER_FOREST, Biome.WARPED_FOREST, Biome.WOODED_HILLS,
+                Biome.PLAINS, Biome.SUNFLOWER_PLAINS, Biome.SAVANNA, Biome.SAVANNA_PLATEAU, Biome.SHATTERED_SAVANNA_PLATEAU, Biome.SHATTERED_SAVANNA,
+                Biome.JUNGLE, Biome.JUNGLE_EDGE, Biome.JUNGLE_HILLS, Biome.BAMBOO_JUNGLE_HILLS, Biome.BAMBOO_JUNGLE, Biome.MODIFIED_JUNGLE,
+                Biome.MODIFIED_JUNGLE_EDGE, Biome.RIVER, Biome.MOUNTAIN_EDGE, Biome.MOUNTAINS, Biome.TAIGA_MOUNTAINS,
+                Biome.GRAVELLY_MOUNTAINS, Biome.WOODED_MOUNTAINS, Biome.MODIFIED_GRAVELLY_MOUNTAINS, Biome.TAIGA, Biome.TAIGA_HILLS,
+                Biome.GIANT_SPRUCE_TAIGA, Biome.GIANT_TREE_TAIGA, Biome.GIANT_TREE_TAIGA_HILLS, Biome.GIANT_SPRUCE_TAIGA_HILLS);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.DIRT, Material.STONE, Material.CLAY, Material.GRAVEL, Material.SAND, Material.SLIME_BLOCK},
+                Biome.SWAMP, Biome.SWAMP_HILLS);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.DIRT, Material.STONE, Material.MYCELIUM, Material.BROWN_MUSHROOM_BLOCK, Material.RED_MUSHROOM_BLOCK},
+                Biome.MUSHROOM_FIELD_SHORE, Biome.MUSHROOM_FIELDS);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.END_STONE},
+                Biome.END_BARRENS, Biome.END_HIGHLANDS, Biome.END_MIDLANDS, Biome.THE_END, Biome.SMALL_END_ISLANDS);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.SAND, Material.SANDSTONE, Material.STONE},
+                Biome.DESERT, Biome.DESERT_HILLS, Biome.DESERT_LAKES, Biome.BEACH);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.RED_SAND, Material.RED_SANDSTONE, Material.TERRACOTTA, Material.STONE},
+                Biome.BADLANDS, Biome.BADLANDS_PLATEAU, Biome.MODIFIED_BADLANDS_PLATEAU,
+                Biome.MODIFIED_WOODED_BADLANDS_PLATEAU, Biome.ERODED_BADLANDS, Biome.WOODED_BADLANDS_PLATEAU);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.STONE, Material.SAND, Material.ICE, Material.ICE, Material.ICE,
+                        Material.SNOW_BLOCK, Material.SNOW_BLOCK, Material.SNOW_BLOCK},
+                Biome.DEEP_FROZEN_OCEAN, Biome.ICE_SPIKES, Biome.FROZEN_OCEAN, Biome.SNOWY_TAIGA,
+                Biome.SNOWY_TUNDRA, Biome.SNOWY_BEACH, Biome.SNOWY_MOUNTAINS, Biome.SNOWY_TAIGA_MOUNTAINS, Biome.SNOWY_TAIGA_HILLS, Biome.FROZEN_RIVER);
+        StormImpact.mapBiomes(mapping,
+                new Material[]{Material.SAND, Material.COBBLESTONE, Material.CLAY,
+                        Material.GRAVEL, Material.DIORITE, Material.ANDESITE, Material.GRANITE},
+                Biome.OCEAN, Biome.COLD_OCEAN, Biome.DEEP_COLD_OCEAN, Biome.DEEP_LUKEWARM_OCEAN, Biome.DEEP_OCEAN,
+                Biome.DEEP_WARM_OCEAN, Biome.LUKEWARM_OCEAN, Biome.WARM_OCEAN);
+        biomeSplashMaterials = Collections.unmodifiableMap(mapping);
+    }
+    private static void mapBiomes(EnumMap<Biome, Material[]> mapping, Material[] materials, Biome... biomes) {
+        for(Biome b : biomes) { mapping.put(b, materials); }
     }
-    private static final ArrayList<BiomesToMaterials> splashMaterialsMapping = new ArrayList<>() {{
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.FOREST, Biome.BIRCH_FOREST, Biome.TALL_BIRCH_HILLS, Biome.TALL_BIRCH_FOREST, Biome.BIRCH_FOREST_HILLS,
-                        Biome.DARK_FOREST_HILLS, Biome.DARK_FOREST, Biome.CRIMSON_FOREST, Biome.FLOWER_FOREST, Biome.WARPED_FOREST, Biome.WOODED_HILLS,
-                        Biome.PLAINS, Biome.SUNFLOWER_PLAINS, Biome.SAVANNA, Biome.SAVANNA_PLATEAU, Biome.SHATTERED_SAVANNA_PLATEAU, Biome.SHATTERED_SAVANNA,
-                        Biome.JUNGLE, Biome.JUNGLE_EDGE, Biome.JUNGLE_HILLS, Biome.BAMBOO_JUNGLE_HILLS, Biome.BAMBOO_JUNGLE, Biome.MODIFIED_JUNGLE,
-                        Biome.MODIFIED_JUNGLE_EDGE, Biome.RIVER, Biome.MOUNTAIN_EDGE, Biome.MOUNTAIN_EDGE, Biome.MOUNTAINS, Biome.TAIGA_MOUNTAINS,
-                        Biome.GRAVELLY_MOUNTAINS, Biome.WOODED_MOUNTAINS, Biome.MODIFIED_GRAVELLY_MOUNTAINS, Biome.TAIGA, Biome.TAIGA_HILLS,
-                        Biome.GIANT_SPRUCE_TAIGA, Biome.GIANT_TREE_TAIGA, Biome.GIANT_TREE_TAIGA_HILLS, Biome.GIANT_SPRUCE_TAIGA_HILLS)),
-                new ArrayList<>(Arrays.asList(Material.DIRT, Material.STONE, Material.COAL_ORE,
-                        Material.CLAY, Material.GRAVEL, Material.SAND, Material.OBSIDIAN, Material.GLOWSTONE))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.SWAMP, Biome.SWAMP_HILLS)),
-                new ArrayList<>(Arrays.asList(Material.DIRT, Material.STONE, Material.CLAY, Material.GRAVEL, Material.SAND, Material.SLIME_BLOCK))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.MUSHROOM_FIELD_SHORE, Biome.MUSHROOM_FIELDS)),
-                new ArrayList<>(Arrays.asList(Material.DIRT, Material.STONE, Material.MYCELIUM, Material.BROWN_MUSHROOM_BLOCK, Material.RED_MUSHROOM_BLOCK))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.END_BARRENS, Biome.END_HIGHLANDS, Biome.END_MIDLANDS, Biome.THE_END, Biome.SMALL_END_ISLANDS)),
-                new ArrayList<>(Arrays.asList(Material.END_STONE))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.DESERT, Biome.DESERT_HILLS, Biome.DESERT_LAKES, Biome.BEACH)),
-                new ArrayList<>(Arrays.asList(Material.SAND, Material.SANDSTONE, Material.STONE))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.BADLANDS, Biome.BADLANDS_PLATEAU, Biome.MODIFIED_BADLANDS_PLATEAU,
-                        Biome.MODIFIED_WOODED_BADLANDS_PLATEAU, Biome.ERODED_BADLANDS, Biome.WOODED_BADLANDS_PLATEAU)),
-                new ArrayList<>(Arrays.asList(Material.RED_SAND, Material.RED_SANDSTONE, Material.TERRACOTTA, Material.STONE))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.DEEP_FROZEN_OCEAN, Biome.ICE_SPIKES, Biome.FROZEN_OCEAN, Biome.FROZEN_OCEAN, Biome.SNOWY_TAIGA,
-                        Biome.SNOWY_TUNDRA, Biome.SNOWY_BEACH, Biome.SNOWY_MOUNTAINS, Biome.SNOWY_TAIGA_MOUNTAINS, Biome.SNOWY_TAIGA_HILLS, Biome.FROZEN_RIVER)),
-                new ArrayList<>(Arrays.asList(Material.STONE, Material.SAND, Material.ICE, Material.ICE, Material.ICE,
-                        Material.SNOW_BLOCK, Material.SNOW_BLOCK, Material.SNOW_BLOCK))
-        ));
-        add(new BiomesToMaterials(
-                new ArrayList<>(Arrays.asList(Biome.OCEAN, Biome.COLD_OCEAN, Biome.DEEP_COLD_OCEAN, Biome.DEEP_LUKEWARM_OCEAN, Biome.DEEP_OCEAN,
-                        Biome.DEEP_WARM_OCEAN, Biome.LUKEWARM_OCEAN, Biome.WARM_OCEAN)),
-                new ArrayList<>(Arrays.asList(Material.SAND, Material.COBBLESTONE, Material.CLAY,
-                        Material.GRAVEL, Material.DIORITE, Material.ANDESITE, Material.GRANITE))
-        ));
-    }};
     /**
-     * Gets the mappings used on a per-biome basis to determine the "intelligent" materials to use in the
-     * event of a splash effect. If the <em>intelligentMaterialTypes</em> subkey is set in the config,
-     * this list is used on every impact to add on the corresponding material types to the list of textures.
+     * Gets the default materials used on a per-biome basis to determine the "intelligent" materials to use in
+     * the event of a splash effect, if the <em>intelligentMaterialTypes</em> subkey is set in the config.
+     * Entries under the <em>splash.biomeMaterials</em> subkey override these defaults per biome.
+     *
+     * @param biome The biome to get the default splash materials for.
+     * @return A copy of the biome's default splash materials, or of the fallback materials if it's not mapped.
      */
-    public static ArrayList<BiomesToMaterials> getSplashMaterialsMapping() { return StormImpact.splashMaterialsMapping; }
+    public static Material[] getDefaultSplashMaterials(Biome biome) {
+        return StormImpact.biomeSplashMaterials.getOrDefault(biome, StormImpact.defaultSplashMaterials).clone();
+    }
+    // Build the type's biome-to-splash-material table: the defaults, with any configured biomes replaced.
+    //   This is derived once per compiled profile, so it's rebuilt only when the configuration changes.
+    private Map<Biome, Material[]> compileSplashMaterials(StormProfile profile) {
+        var overrides = profile.getChildValues(StormImpactConfigurationKeyNames.SPLASH_BIOME_MATERIALS);
+        if(overrides.isEmpty()) { return StormImpact.biomeSplashMaterials; }
+        var mapping = new EnumMap<>(StormImpact.biomeSplashMaterials);
+        for(var entry : overrides.entrySet()) {
+            try {
+                var biome = Biome.valueOf(entry.getKey().toUpperCase(Locale.ROOT));
+                var materials = new ArrayList<Material>();
+                for(Object name : (List<?>)entry.getValue()) {
+                    materials.add(Material.valueOf(String.valueOf(name).toUpperCase(Locale.ROOT)));
+                }
+                if(materials.isEmpty()) { throw new Exception("no materials are listed"); }
+                mapping.put(biome, materials.toArray(new Material[0]));
+            } catch (Exception ex) {
+                this.log(Level.WARNING, "Ignoring invalid IMPACT splash materials for biome '"
+                        + entry.getKey() + "': " + ex.getMessage());
+            }
+        }
+        return Collections.unmodifiableMap(mapping);
+    }
 
     // Config-based variables.
     private boolean splashEnabled, meteorHollow, leaveDiamondBlock,
             warningSound, splashNearbyTypes, meteorCompositionMixed,
-            splashImpulseProportional, yieldProportional, damageProportional;
-    private int splashBlocksAmount;
-    private Tuple<Double,Double> splashBlocksVelocityFactorRange, splashVerticalImpulseRange, meteorDownwardSpeedRange;
-    private final ArrayList<Material> splashTypes = new ArrayList<>();
-    private final ArrayList<Material> meteorCompositionMaterials = new ArrayList<>();
+            splashImpulseProportional, yieldProportional, damageProportional, craterMode, levelOfDetail;
+    private int splashBlocksAmount, splashEmissionTicks, craterBlocksPerTick;
+    private int fullDetailDistance, coarsestDetailDistance;
+    private DoubleRange splashBlocksVelocityFactorRange, splashVerticalImpulseRange, meteorDownwardSpeedRange;
+    private List<Material> splashTypes = List.of();
+    private List<Material> meteorCompositionMaterials = List.of();
     private int meteorDiameter;
     private double meteorSpeed;
     // Tracker variables.
     //// Use a single block to get the location of in the final callback for the after-effects.
     private FallingBlock trackerBlock;
     private Material trackerBlockMaterial; //get its material too
+    //// The staged after-effects of the meteor's landing, if running.
+    private LandingSequence landingSequence;
+    //// Where the tracker block is expected to land, once predicted.
+    private StormBallistics.Prediction predictedLanding;
+    //// Set once the Storm is cleaned up, so late callbacks don't ticket chunks that nothing would release.
+    private boolean isCleanedUp = false;
 
 
 
@@ -248,6 +298,29 @@ public final class StormImpact extends Storm implements Listener {
      * of the generated meteor sphere (see: {@link #getMeteorDiameter()}).
      */
     public final boolean isDamageProportional() { return this.damageProportional; }
+    /**
+     * Gets whether the meteor's explosion carves its crater directly, in batches spread over several ticks,
+     * rather than through a vanilla explosion (see: {@link StormCrater}).
+     */
+    public final boolean isCraterMode() { return this.craterMode; }
+    /**
+     * Gets the maximum amount of crater blocks rewritten per tick, when in crater mode.
+     */
+    public final int getCraterBlocksPerTick() { return this.craterBlocksPerTick; }
+    /**
+     * Gets whether the meteor's voxel resolution is reduced when the nearest player is far from its flight path.
+     */
+    public final boolean isLevelOfDetail() { return this.levelOfDetail; }
+    /**
+     * Gets the horizontal distance (in blocks) between the meteor's flight path and the nearest player within which
+     * meteors always spawn in full detail.
+     */
+    public final int getFullDetailDistance() { return this.fullDetailDistance; }
+    /**
+     * Gets the horizontal distance (in blocks) between the meteor's flight path and the nearest player beyond which
+     * meteors spawn at their coarsest detail.
+     */
+    public final int getCoarsestDetailDistance() { return this.coarsestDetailDistance; }
     /**
      * Gets the inbound velocity multiplier of the falling meteor.
      */
@@ -262,7 +335,7 @@ public final class StormImpact extends Storm implements Listener {
     public final int getMeteorDiameter() { return this.meteorDiameter; }
     /**
      * Gets the entity representing a block on the surface of the sphere, as a tracker. When this block is
-     * caught in the {@link #onBlockPhysics(BlockPhysicsEvent)} event handler, the splash effect of the
+     * reported as landed by the {@link StormLandingDispatcher}, the splash effect of the
      * impact storm is generated, if enabled. This block is an important part of firing that half of the
      * impact storm.
      */
@@ -276,24 +349,24 @@ public final class StormImpact extends Storm implements Listener {
      * Get the types of blocks that are able to erupt from the meteor's impact site, if enabled. These types
      * will <strong>not matter</strong> if {@link #isSplashNearbyTypes()} returns <em>true</em>.
      */
-    public final ArrayList<Material> getSplashTypes() { return this.splashTypes; }
+    public final List<Material> getSplashTypes() { return this.splashTypes; }
     /**
      * Gets the possible composition types of the impact meteor, whether or not those types are mixed
      * when actually spawning the meteor.
      */
-    public final ArrayList<Material> getMeteorCompositionMaterials() { return this.meteorCompositionMaterials; }
+    public final List<Material> getMeteorCompositionMaterials() { return this.meteorCompositionMaterials; }
     /**
      * Gets the range of possible values for the splash effect's horizontal (i.e. <em>X-Z</em>) speed multipliers.
      */
-    public final Tuple<Double,Double> getSplashBlocksVelocityFactorRange() { return this.splashBlocksVelocityFactorRange; }
+    public final DoubleRange getSplashBlocksVelocityFactorRange() { return this.splashBlocksVelocityFactorRange; }
     /**
      * Gets the range of possible values for the splash effect's vertical speed multiplier.
      */
-    public final Tuple<Double,Double> getSplashVerticalImpulseRange() { return this.splashVerticalImpulseRange; }
+    public final DoubleRange getSplashVerticalImpulseRange() { return this.splashVerticalImpulseRange; }
     /**
      * Gets the configured range for the downward speed multiplier.
      */
-    public final Tuple<Double, Double> getMeteorDownwardSpeedRange() { return this.meteorDownwardSpeedRange; }
+    public final DoubleRange getMeteorDownwardSpeedRange() { return this.meteorDownwardSpeedRange; }
     public final double getNewMeteorDownwardSpeed() { return this.getRandomDouble(this.meteorDownwardSpeedRange); }
 
 
@@ -301,37 +374,46 @@ public final class StormImpact extends Storm implements Listener {
 
     // Class constructor.
     public StormImpact() {
-        super(StormImpact.TYPE_NAME, StormImpactConfigurationKeys.values(), true);
+        super(StormImpact.TYPE_NAME, StormImpact.defaultConfig);
     }
 
 
     // Populate IMPACT object-specific configuration and validate.
     protected final boolean initializeStormTypeProperties() {
         // Custom properties
-        Tuple<Integer,Integer> diameterRange, splashBlocksRange;
-        var materialTypes = new ArrayList<String>();
-        var compositionTypes = new ArrayList<String>();
+        IntRange diameterRange, splashBlocksRange;
+        var profile = this.getProfile();
         try {
-            diameterRange = StormConfig.getIntegerRange(this.typeName, StormImpactConfigurationKeyNames.METEOR_DIAMETER_RANGE);
-            splashBlocksRange = StormConfig.getIntegerRange(this.typeName, StormImpactConfigurationKeyNames.SPLASH_AMOUNT_RANGE);
-            this.splashBlocksVelocityFactorRange = StormConfig.getDoubleRange(this.typeName, StormImpactConfigurationKeyNames.SPLASH_VELOCITY_RANGE);
-            this.splashVerticalImpulseRange = StormConfig.getDoubleRange(this.typeName, StormImpactConfigurationKeyNames.SPLASH_VERTICAL_IMPULSE_RANGE);
-            this.meteorDownwardSpeedRange = StormConfig.getDoubleRange(this.typeName, StormImpactConfigurationKeyNames.METEOR_DOWNWARD_SPEED_RANGE);
-            this.splashEnabled = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeys.SPLASH_ENABLED.getLabel());
-            this.meteorHollow = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_HOLLOW);
-            this.warningSound = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.WARNING_SOUND);
-            this.meteorCompositionMixed = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_MATERIALS_MIXED);
-            this.splashNearbyTypes = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.SPLASH_USE_NEARBY_TYPES);
-            this.leaveDiamondBlock = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_LEAVE_DIAMOND_BLOCK);
-            this.splashImpulseProportional = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.SPLASH_IMPULSE_PROPORTIONAL);
-            this.yieldProportional = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_EXPLOSION_YIELD_PROPORTIONAL);
-            this.damageProportional = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_EXPLOSION_DAMAGE_PROPORTIONAL);
-            //// get meteor composition types
-            compositionTypes = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.METEOR_MATERIALS);
-            for(String s : compositionTypes) { this.meteorCompositionMaterials.add(Material.valueOf(s)); }
-            //// get material types for splash
-            materialTypes = StormConfig.getConfigValue(this.typeName, StormImpactConfigurationKeyNames.SPLASH_TYPES);
-            for(String s : materialTypes) { this.splashTypes.add(Material.valueOf(s)); }
+            diameterRange = profile.getIntRange(StormImpactConfigurationKeyNames.METEOR_DIAMETER_RANGE);
+            splashBlocksRange = profile.getIntRange(StormImpactConfigurationKeyNames.SPLASH_AMOUNT_RANGE);
+            this.splashBlocksVelocityFactorRange = profile.getDoubleRange(StormImpactConfigurationKeyNames.SPLASH_VELOCITY_RANGE);
+            this.splashVerticalImpulseRange = profile.getDoubleRange(StormImpactConfigurationKeyNames.SPLASH_VERTICAL_IMPULSE_RANGE);
+            this.meteorDownwardSpeedRange = profile.getDoubleRange(StormImpactConfigurationKeyNames.METEOR_DOWNWARD_SPEED_RANGE);
+            this.splashEnabled = profile.getValue(StormImpactConfigurationKeyNames.SPLASH_ENABLED);
+            this.meteorHollow = profile.getValue(StormImpactConfigurationKeyNames.METEOR_HOLLOW);
+            this.warningSound = profile.getValue(StormImpactConfigurationKeyNames.WARNING_SOUND);
+            this.meteorCompositionMixed = profile.getValue(StormImpactConfigurationKeyNames.METEOR_MATERIALS_MIXED);
+            this.splashNearbyTypes = profile.getValue(StormImpactConfigurationKeyNames.SPLASH_USE_NEARBY_TYPES);
+            this.leaveDiamondBlock = profile.getValue(StormImpactConfigurationKeyNames.METEOR_LEAVE_DIAMOND_BLOCK);
+            this.splashImpulseProportional = profile.getValue(StormImpactConfigurationKeyNames.SPLASH_IMPULSE_PROPORTIONAL);
+            this.splashEmissionTicks = Math.max(1,
+                    ((Number)profile.getValue(StormImpactConfigurationKeyNames.SPLASH_EMISSION_TICKS)).intValue());
+            this.yieldProportional = profile.getValue(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_YIELD_PROPORTIONAL);
+            this.damageProportional = profile.getValue(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_DAMAGE_PROPORTIONAL);
+            this.craterMode = profile.getValue(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_CRATER_MODE);
+            this.craterBlocksPerTick = Math.max(1,
+                    ((Number)profile.getValue(StormImpactConfigurationKeyNames.METEOR_EXPLOSION_CRATER_BLOCKS_PER_TICK)).intValue());
+            this.levelOfDetail = profile.getValue(StormImpactConfigurationKeyNames.METEOR_LOD_ENABLED);
+            this.fullDetailDistance = Math.max(0,
+                    ((Number)profile.getValue(StormImpactConfigurationKeyNames.METEOR_LOD_FULL_DETAIL_DISTANCE)).intValue());
+            this.coarsestDetailDistance = Math.max(this.fullDetailDistance + 1,
+                    ((Number)profile.getValue(StormImpactConfigurationKeyNames.METEOR_LOD_COARSEST_DETAIL_DISTANCE)).intValue());
+            //// meteor composition and splash types (resolved and validated when the profile was compiled)
+            this.meteorCompositionMaterials = profile.getEnumList(StormImpactConfigurationKeyNames.METEOR_MATERIALS, Material.class);
+            this.splashTypes = profile.getEnumList(StormImpactConfigurationKeyNames.SPLASH_TYPES, Material.class);
+            if(this.meteorCompositionMaterials.isEmpty() || this.splashTypes.isEmpty()) {
+                throw new Exception("The meteor and splash material types must each list at least one material.");
+            }
         } catch (Exception e) {
             this.log(Level.WARNING, "~~~ Skipping spawn of IMPACT meteor: can't get proper configuration values.");
             this.log(e);
@@ -372,8 +454,8 @@ public final class StormImpact extends Storm implements Listener {
         if(cmdArgs.contains("direct")) {
             this.debugLog("+++ Attempting to force a direct Impact.");
             // Set the impact meteor directly above the player's head, and cancel out any horizontal impulses.
-            this.setXRange(new Tuple<>(-1,1));
-            this.setZRange(new Tuple<>(-1,1));
+            this.setXRange(new IntRange(-1, 1));
+            this.setZRange(new IntRange(-1, 1));
             this.meteorSpeed = 0.1;
         }
         if(cmdArgs.contains("harmless")) {
@@ -387,6 +469,7 @@ public final class StormImpact extends Storm implements Listener {
     @Override
     protected final void doJustBeforeScheduling() {
         this.setSchedulingDisabled(true);   //disable entity spawn schedule
+        this.setSingleSpawnPerJob(true);    //one meteor, never thinned
     }
 
     @Override
@@ -394,8 +477,8 @@ public final class StormImpact extends Storm implements Listener {
         // Read the config and populate object variables before spawning the meteor.
         //   Only spawns the impact if the IMPACT object-specific config is valid.
         if(!this.isCancelled()) { this.getNextEntity(); }
-        // Register 'this' as an event Listener while the storm is active.
-        this.registerAsListener(this);
+        // Have the shared dispatcher report back when the tracker block lands.
+        StormWatch.getLandingDispatcher().track(this.trackerBlock, this::onTrackerBlockLanded);
     }
 
     // IMPACT types are expected to spawn a single sphere in the sky and throw it down near the player.
@@ -408,59 +491,60 @@ public final class StormImpact extends Storm implements Listener {
         spawnBase.setDirection(spawnBase.toVector().subtract(this.getTargetPlayer().getLocation().toVector()));
         this.setStormYaw((int)spawnBase.getYaw());
 
-        // Start creating the meteor with the provided diameter.
-        //   Check if the sphere is meant to be hollow as well...
-        int meteorRadius = this.meteorDiameter / 2;
-        var spawnLocations = new ArrayList<Location>();
-        for(int t = -meteorRadius; t <= meteorRadius; t++) {
-            for(int e = -meteorRadius; e <= meteorRadius; e++) {
-                for(int h = -meteorRadius; h <= meteorRadius; h++) {
-                    ////// Use the equation for a sphere's radius to find all valid points within and on the surface of a sphere.
-                    // x^2 + y^2 + z^2 = r^2, therefore: r = sqrt(x^2 + y^2 + z^2).
-                    // So to trim the edges of the sphere and create a radius (using example of radius=5):
-                    //   t,e,h = (0,2,0) ---> r = sqrt(0^2 + 2^2 + 0^2) = 2, which is INSIDE of the radius of 5.
-                    //   t,e,h = (4,4,4) ---> r = sqrt(4^2 + 4^2 + 4^2) = sqrt(48) = 6.92, which is OUTSIDE the radius of 5.
-                    int spherePoint = (int) Math.floor( Math.sqrt(Math.pow(t, 2) + Math.pow(e, 2) + Math.pow(h, 2)) );
-                    if ((!this.meteorHollow && spherePoint > meteorRadius)
-                            || (this.meteorHollow && spherePoint != meteorRadius)) {
-                        continue;
-                    } else {
-                        Location meteorLocation = spawnBase.clone().add(t, e, h);
-                        meteorLocation.setPitch(this.getStormPitch());
-                        meteorLocation.setYaw(this.getStormYaw());
-                        spawnLocations.add(meteorLocation);
-                    }
-                }
-            }
-        }
+        // Every block in the meteor shares the same heading, so its velocity only needs to be computed once.
+        //   Give the y-direction a random pace of downward speed.
+        spawnBase.setPitch(this.getStormPitch());
+        spawnBase.setYaw(this.getStormYaw());
+        double downwardSpeed = this.getNewMeteorDownwardSpeed();
+        this.debugLog("Setting IMPACT downward meteor speed multiplier to:   -" + downwardSpeed);
+        Vector meteorVelocity = spawnBase.getDirection().multiply(this.meteorSpeed).setY(-downwardSpeed);
+
+        // Get the meteor's shape from the shared voxel tables, with the provided diameter (and hollowness).
+        //   Past full detail, only the shell is spawned (nobody can see inside anyway), then every 2nd, 4th voxel.
+        int detailLevel = this.getDetailLevel(spawnBase, meteorVelocity);
+        var meteorShape = VoxelSphere.of(this.meteorDiameter, this.meteorHollow || detailLevel > 0);
+        int trackerIndex = meteorShape.getBottomIndex();
 
         // Map out the materials to be used in the meteor. If the composition isn't varied, it can be set outside the loop easily.
         Material spawnType = this.meteorCompositionMaterials.get( this.getRandomInt(0, this.meteorCompositionMaterials.size()) );
-        // Get a randomized downward speed for the meteor.
-        double downwardSpeed = this.getNewMeteorDownwardSpeed();
-        this.debugLog("Setting IMPACT downward meteor speed multiplier to:   -" + downwardSpeed);
-        // Spawn the meteor now.
-        for(Location loc : spawnLocations) {
+        // Spawn the meteor now. The spawn location is reused for each block, since spawning doesn't keep it.
+        var world = this.getTargetPlayer().getWorld();
+        Location loc = spawnBase.clone();
+        int spawned = 0;
+        for(int i = 0; i < meteorShape.size(); i++) {
+            // The tracker voxel is always spawned, so the landing is reported no matter the detail.
+            int x = meteorShape.getX(i), y = meteorShape.getY(i), z = meteorShape.getZ(i);
+            if(i != trackerIndex && !StormImpact.isKeptAtDetail(x, y, z, detailLevel)) { continue; }
             if(this.meteorCompositionMixed) {
                 // If the composition is mixed, get a new material type each iteration/spawn.
                 spawnType = this.meteorCompositionMaterials.get( this.getRandomInt(0, this.meteorCompositionMaterials.size()) );
             }
+            loc.setX(spawnBase.getX() + x);
+            loc.setY(spawnBase.getY() + y);
+            loc.setZ(spawnBase.getZ() + z);
             // Set the individual block parameters after spawning. If the server is slow, or if the meteor
             //   has a large radius, this operation could (1) take some time, and/or (2) cause the
             //   blocks to sort of rain down in a stream rather than as a complete unit.
-            FallingBlock block = this.getTargetPlayer().getWorld().spawnFallingBlock( loc, spawnType.createBlockData() );
-            block.setVelocity(loc.getDirection().multiply(this.meteorSpeed));
-            // Give the y-direction a random pace of downward speed.
-            block.setVelocity(new Vector(block.getVelocity().getX(), -downwardSpeed, block.getVelocity().getZ()));
+            //   FallingBlocks can't be spawned through an initializer (see: Storm#spawnEntity), but since these
+            //   setters run in the same tick as the spawn, they're carried by the spawn packet anyway.
+            FallingBlock block = world.spawnFallingBlock( loc, spawnType.createBlockData() );
+            block.setVelocity(meteorVelocity);
             // Keeping this for fun. :)
             ////this.setEntityVelocity( block, this.getRandomDouble(this.speedRange) );
             block.setGravity(true); block.setPersistent(true); block.setInvulnerable(true);
-            // Set the tracker block to the first block created in the set.
-            if(this.trackerBlock == null) {
+            this.tagSpawnedEntity(block);
+            spawned++;
+            // The tracker block is the one at the very bottom of the meteor: the first to touch the ground.
+            if(i == trackerIndex) {
                 this.trackerBlock = block;
                 this.trackerBlockMaterial = block.getBlockData().getMaterial();
             }
         }
+        this.debugLog("Spawned IMPACT meteor of " + spawned + " blocks at detail level " + detailLevel + ".");
+        StormWatch.getStats().record("impact.meteorDetailLevel", detailLevel);
+        StormWatch.getStats().record("impact.meteorBlocksSpawned", spawned);
+        // Work out where the meteor will come down while it's still falling.
+        this.predictLanding(meteorVelocity);
 
         // Play the warning sound to the player, if enabled.
         if(this.warningSound) {
@@ -472,149 +556,315 @@ public final class StormImpact extends Storm implements Listener {
         return null;
     }
 
+    // Picks the meteor's level of detail from the horizontal distance between its flight path and the nearest player
+    //   in the world: 0 (full detail) up close, rising evenly to MAX_DETAIL_LEVEL at the coarsest detail distance.
+    //   The meteor spawns far above everyone, so it's how close it passes by (or comes down) that matters, not how
+    //   high up it starts.
+    private int getDetailLevel(Location spawnBase, Vector meteorVelocity) {
+        var world = spawnBase.getWorld();
+        if(!this.levelOfDetail || world == null) { return 0; }
+        var path = StormBallistics.simulatePath(spawnBase, meteorVelocity, world.getMinHeight());
+        double nearestSquared = Double.MAX_VALUE;
+        for(Player p : world.getPlayers()) {
+            var l = p.getLocation();
+            for(int i = 0; i < path.length; i += 3) {
+                double dx = path[i] - l.getX(), dz = path[i + 2] - l.getZ();
+                nearestSquared = Math.min(nearestSquared, dx * dx + dz * dz);
+            }
+        }
+        double nearest = Math.sqrt(nearestSquared);
+        if(nearest <= this.fullDetailDistance) { return 0; }
+        double fraction = (nearest - this.fullDetailDistance) / (this.coarsestDetailDistance - this.fullDetailDistance);
+        return Math.min(MAX_DETAIL_LEVEL, 1 + (int)(fraction * MAX_DETAIL_LEVEL));
+    }
+
+    // Whether a meteor voxel is spawned at a level of detail. Voxels are thinned on a lattice over their offsets rather
+    //   than by their order in the table, so the ones kept are spread evenly over the whole shell: a checkerboard
+    //   (1 in 2) at level 2, and the voxels whose offsets are all even or all odd (1 in 4) at level 3.
+    private static boolean isKeptAtDetail(int x, int y, int z, int detailLevel) {
+        if(detailLevel <= 1) { return true; }
+        if(detailLevel == 2) { return ((x + y + z) & 1) == 0; }
+        return ((x ^ y) & 1) == 0 && ((y ^ z) & 1) == 0;
+    }
+
     @Override
     public final void doCleanupAfterStorm() {
-        // Unregister self as an active plugin event listener
-        try { HandlerList.unregisterAll(this); } catch (Exception e) { this.log(e); }
+        this.isCleanedUp = true;
+        // Stop tracking the meteor if it never landed, and stop any landing effects still in progress.
+        try { StormWatch.getLandingDispatcher().untrack(this.trackerBlock); } catch (Exception e) { this.log(e); }
+        if(this.landingSequence != null) {
+            this.landingSequence.cancel();
+            // A crater still being carved would otherwise keep clearing blocks (and lighting fires) on its own.
+            if(this.landingSequence.craterTask != null) { this.landingSequence.craterTask.cancel(); }
+            this.landingSequence = null;
+        }
+        this.releasePredictedChunks();
+    }
+
+
+    // Predicts the tracker block's landing as soon as the meteor is spawned, so the landing itself needs no
+    //   discovery work. The already-loaded chunks along its flight path are sampled, and the landing column (and
+    //   its biome) is then found off the main thread.
+    private void predictLanding(Vector meteorVelocity) {
+        if(this.trackerBlock == null) { return; }
+        var world = this.trackerBlock.getWorld();
+        var path = StormBallistics.simulatePath(this.trackerBlock.getLocation(), meteorVelocity, world.getMinHeight());
+        this.traceLanding(world, path, StormBallistics.getChunksAlong(path, world.getMaxHeight()));
+    }
+
+    // Traces the flight path over whichever of its chunks are loaded. Once the landing is found, only the chunks the
+    //   meteor falls through on the way there are ticketed (they're loaded already). Chunks are only loaded when the
+    //   path leaves loaded terrain before meeting the ground, and then only the one it enters, before tracing again;
+    //   so nothing past the landing is ever loaded (or generated).
+    private void traceLanding(World world, double[] path, long[] chunks) {
+        var sampler = StormWatch.getTerrainSampler();
+        sampler.query(sampler.sample(world, chunks), view -> StormBallistics.trace(path, view), trace -> {
+            // The meteor already landed, or the Storm was cleaned up: its chunks were (or will be) released.
+            if(this.isCleanedUp || this.trackerBlock == null || !this.trackerBlock.isValid()) { return; }
+            var prediction = trace.landing();
+            if(prediction != null) {
+                this.predictedLanding = prediction;
+                var flight = Arrays.copyOf(path, prediction.ticks() * 3);
+                StormWatch.getStormChunkManager().loadChunks(world,
+                        StormBallistics.getChunksAlong(flight, world.getMaxHeight()), this.getStormId());
+                this.debugLog("IMPACT predicted to land at (" + prediction.x() + "," + prediction.y() + ","
+                        + prediction.z() + ") in " + prediction.ticks() + " ticks.");
+            } else if(trace.unsampledTick() >= 0) {
+                int i = trace.unsampledTick() * 3;
+                long next = StormTerrainSampler.chunkIndex((int)Math.floor(path[i]) >> 4, (int)Math.floor(path[i + 2]) >> 4);
+                StormWatch.getStormChunkManager().loadChunks(world, new long[] { next }, this.getStormId());
+                StormWatch.getStats().increment("impact.landingPredictionChunksLoaded");
+                this.traceLanding(world, path, chunks);
+            }
+        });
+    }
+
+    // Releases the chunks ticketed for the landing prediction, unless the Storm is keeping its chunks loaded
+    //   anyway (in which case they're released with the rest of them when the Storm ends).
+    private void releasePredictedChunks() {
+        if(!this.isLoadsChunks()) { StormWatch.getStormChunkManager().unloadStormChunks(this.getStormId()); }
     }
 
 
     /**
-     * Custom, impact-specific registered event handler that's fired on any block physics
-     * to track the trackerBlock. This is important to know when the TrackerBlock makes
-     * contact with the ground, or really any surface, even if only a 1x1 platform.
+     * Callback from the shared landing dispatcher, fired once when the trackerBlock makes
+     * contact with the ground, or really any surface, even if only a 1x1 platform. The after-effects
+     * are played out over several ticks by a {@link LandingSequence}.
      *
-     * @param e The BlockPhysicsEvent to handle.
-     * @see Listener
-     * @see BlockPhysicsEvent
+     * @param block The tracker block that landed.
+     * @param landedBlock The block the tracker block turned into on landing.
+     * @see StormLandingDispatcher
      */
-    @EventHandler
-    public final void onBlockPhysics(BlockPhysicsEvent e) {
-        if(this.trackerBlock != null && this.trackerBlock.isOnGround()
-                && e.getSourceBlock().getBlockData().matches(this.trackerBlock.getBlockData())) {
-            // Immediately clear the tracker after capturing a copy.
-            FallingBlock block = this.trackerBlock;
-            this.trackerBlock = null;
+    private void onTrackerBlockLanded(FallingBlock block, Block landedBlock) {
+        // Immediately clear the tracker.
+        this.trackerBlock = null;
+        // Score the landing prediction against where the meteor actually came down.
+        Biome predictedBiome = null;
+        var stats = StormWatch.getStats();
+        if(this.predictedLanding != null) {
+            double error = this.predictedLanding.getHorizontalError(landedBlock.getX(), landedBlock.getZ());
+            stats.record("impact.landingPredictionError", error);
+            stats.record("impact.landingPredictionWithinOneBlock", error <= 1.0 ? 1.0 : 0.0);
+            stats.record("impact.landingPredictionTickError", Math.abs(block.getTicksLived() - this.predictedLanding.ticks()));
+            // Biomes are stored per 4x4x4 cell, so a close prediction already knows the impact site's biome.
+            if(error <= 2.0) { predictedBiome = this.predictedLanding.biome(); }
+        } else {
+            stats.increment("impact.landingPredictionMissing");
+        }
+        this.landingSequence = new LandingSequence(block.getLocation(), landedBlock, predictedBiome);
+        this.landingSequence.runTaskTimer(StormWatch.getInstance(), 0L, 1L);
+    }
+
+
+    /**
+     * The staged after-effects of a meteor's landing, run once per tick: the explosion on the first tick,
+     * then the splash blocks in even waves over the configured emission ticks, then the diamond burial.
+     * All random draws come from the Storm's seed, so a given Storm always plays out the same way. The
+     * sequence is cancelled if the Storm is cleaned up before it finishes.
+     * <p>
+     * The impact site's biome and the burial depth are found with the {@link StormTerrainSampler}, so no live
+     * world blocks are read for them on the main thread.
+     */
+    private final class LandingSequence extends BukkitRunnable {
+        private final Random sequenceRng = new Random(StormImpact.this.getStormSeed());
+        private final Location impactLocation;
+        private final Block landedBlock;
+        private final int debrisTicks;
+        private int tick = 0, debrisSpawned = 0, ticksWaited = 0;
+        private boolean burialRequested = false, craterPending = false;
+        private BukkitTask craterTask = null;
+        private Location splashBaseSpawn;
+        private Material[] biomeMaterials;
+        private int meteorMaterialsCount;
+
+        private LandingSequence(Location impactLocation, Block landedBlock, Biome predictedBiome) {
+            this.impactLocation = impactLocation;
+            this.landedBlock = landedBlock;
+            this.debrisTicks = splashEnabled ? splashEmissionTicks : 0;
+            if(this.debrisTicks > 0 && splashNearbyTypes && predictedBiome != null) {
+                // The biome was prefetched along with the landing prediction.
+                this.biomeMaterials = getProfile()
+                        .getDerivedValue(SPLASH_MATERIALS_TABLE, StormImpact.this::compileSplashMaterials)
+                        .getOrDefault(predictedBiome, StormImpact.defaultSplashMaterials);
+            } else if(this.debrisTicks > 0 && splashNearbyTypes) {
+                // Look up the impact site's biome (before the explosion changes anything) for the splash materials.
+                int x = landedBlock.getX(), y = landedBlock.getY(), z = landedBlock.getZ();
+                StormWatch.getTerrainSampler().query(impactLocation, 0, view -> view.getBiome(x, y, z),
+                        biome -> this.biomeMaterials = getProfile()
+                                .getDerivedValue(SPLASH_MATERIALS_TABLE, StormImpact.this::compileSplashMaterials)
+                                .getOrDefault(biome, StormImpact.defaultSplashMaterials));
+            } else {
+                this.biomeMaterials = StormImpact.defaultSplashMaterials;
+            }
+        }
+
+        @Override
+        public void run() {
+            if(this.tick == 0) {
+                this.explode();
+                if(this.debrisTicks > 0) { this.prepareDebris(); }
+            } else if(this.tick <= this.debrisTicks) {
+                // Wait (briefly) for the biome lookup before the first wave.
+                if(this.biomeMaterials == null && this.ticksWaited++ < MAX_TERRAIN_WAIT_TICKS) { return; }
+                if(this.biomeMaterials == null) { this.biomeMaterials = StormImpact.defaultSplashMaterials; }
+                // Spawn up to this wave's share of the total, so rounding never loses or adds blocks.
+                int target = (int)((long)splashBlocksAmount * this.tick / this.debrisTicks);
+                this.emitDebris(target - this.debrisSpawned);
+            } else if(!this.burialRequested && !this.craterPending) {
+                this.burialRequested = true;
+                this.bury();
+            }
+            this.tick++;
+        }
+
+        private void finish() {
+            this.cancel();
+            landingSequence = null;
+            releasePredictedChunks();
+        }
+
+        private void explode() {
             try {
-                float explosionYield = this.isYieldProportional()
-                        ? (float)(this.meteorDiameter * 2.8)
-                        : this.getExplosionYield();
-                if(this.getExplosionEnabled()) {
-                    // Create the explosion.
-                    block.getWorld().createExplosion(
-                            block.getLocation(),
-                            explosionYield,
-                            this.getSetsFires(),
-                            this.getBreaksBlocks()
-                    );
-                    // Damage all nearby entities, as applicable.
-                    for(Entity nearbyMob : block.getNearbyEntities(this.getExplosionDamageRadius(),
-                            this.getExplosionDamageRadius(), this.getExplosionDamageRadius())) {
-                        if(nearbyMob instanceof Damageable) {
-                            ((Damageable)nearbyMob).damage(
-                                this.isDamageProportional()
-                                    ? (float)(this.getMeteorDiameter() * 3.6)
-                                    : this.getExplosionDamage()
-                            );
-                        }
+                float explosionYield = isYieldProportional()
+                        ? (float)(meteorDiameter * 2.8)
+                        : getExplosionYield();
+                if(getExplosionEnabled()) {
+                    if(craterMode) {
+                        // Carve the crater over the next few ticks; the burial waits until it's finished.
+                        this.craterTask = StormCrater.carve(this.impactLocation, explosionYield, getSetsFires(), getBreaksBlocks(),
+                                craterBlocksPerTick, new Random(this.sequenceRng.nextLong()), () -> {
+                                    this.craterPending = false;
+                                    StormWatch.getTerrainSampler().invalidate(this.impactLocation,
+                                            (int)Math.ceil(explosionYield * StormCrater.RADIUS_PER_YIELD) / 16 + 1);
+                                });
+                        this.craterPending = true;
+                    } else {
+                        // Create the explosion.
+                        this.impactLocation.getWorld().createExplosion(
+                                this.impactLocation,
+                                explosionYield,
+                                getSetsFires(),
+                                getBreaksBlocks()
+                        );
                     }
+                    // Damage all entities within the damage radius, as applicable.
+                    int damaged = StormAreaEffect.damageSphere(
+                            this.impactLocation,
+                            getExplosionDamageRadius(),
+                            isDamageProportional()
+                                ? (float)(getMeteorDiameter() * 3.6)
+                                : getExplosionDamage(),
+                            isExplosionDamageFalloff()
+                    );
+                    debugLog("IMPACT explosion damaged " + damaged + " entities.");
+                    // The explosion changed the terrain, so don't let later samples reuse the old snapshots.
+                    StormWatch.getTerrainSampler().invalidate(this.impactLocation, 1);
                 }
             } catch (Exception ex) {
-                this.log(Level.WARNING, "Unable to create IMPACT explosion or damage nearby entities.");
-                this.log(ex);
+                log(Level.WARNING, "Unable to create IMPACT explosion or damage nearby entities.");
+                log(ex);
             }
+        }
 
-            // Do splash if enabled.
-            if(this.splashEnabled) {
-                try {
-                    this.debugLog("Spawning " + this.getSplashBlocksAmount() + " splash blocks on IMPACT event.");
-                    // Get the fallen block location on the ground and set the splash spawn up to the
-                    //   meteor diameter (+3 padding) above the ground location.
-                    Location splashBaseSpawn = block.getLocation().clone();
-                    splashBaseSpawn.setY(splashBaseSpawn.getY() + meteorDiameter + 3);
-                    // Create a list of all randomized textures from the SPLASH_TYPES array, or nearby the impact site if enabled.
-                    var texturesList = new ArrayList<Material>();
-                    if(!this.splashNearbyTypes) {
-                        for(int i = 0; i < this.splashBlocksAmount; i++) {
-                            texturesList.add(this.splashTypes.get(this.rng.nextInt(this.splashTypes.size())));
-                        }
+        private void prepareDebris() {
+            debugLog("Spawning " + getSplashBlocksAmount() + " splash blocks over "
+                    + this.debrisTicks + " ticks on IMPACT event.");
+            // Get the fallen block location on the ground and set the splash spawn up to the
+            //   meteor diameter (+3 padding) above the ground location.
+            this.splashBaseSpawn = this.impactLocation.clone();
+            this.splashBaseSpawn.setY(this.splashBaseSpawn.getY() + meteorDiameter + 3);
+            // Textures are drawn from the SPLASH_TYPES array, or from the materials nearby the impact site if enabled.
+            //   The nearby materials are the biome's (or the defaults if the biome isn't mapped), plus the
+            //   material the tracker block is made of. If the meteor is a mixed composition, all of its types are
+            //   added instead. Nothing is copied: each draw just indexes into whichever set it lands in.
+            this.meteorMaterialsCount = meteorCompositionMixed ? meteorCompositionMaterials.size() : 1;
+        }
+
+        private void emitDebris(int amount) {
+            try {
+                // For each texture, spawn a new block from the base location and randomize its trajectory based on the impact's inbound yaw.
+                for(int i = 0; i < amount; i++, this.debrisSpawned++) {
+                    Material splashMaterial;
+                    if(!splashNearbyTypes) {
+                        splashMaterial = splashTypes.get(this.sequenceRng.nextInt(splashTypes.size()));
                     } else {
-                        var nearbyMaterials = new ArrayList<Material>();
-                        // Check for the biome across all registered types. If it doesn't exist, default to the DIRT, SAND, STONE materials list.
-                        for(BiomesToMaterials bToM : StormImpact.splashMaterialsMapping) {
-                            if(bToM.getHasBiome(e.getBlock().getBiome())) { nearbyMaterials = bToM.getMaterials(); break; }
-                        }
-                        if(nearbyMaterials == null || nearbyMaterials.isEmpty()) {
-                            this.debugLog("--- Couldn't find impact biome. Meteor splash for IMPACT selected default materials!");
-                            nearbyMaterials = new ArrayList<>(Arrays.asList(Material.STONE, Material.DIRT, Material.SAND));
-                        }
-                        //// Always add on the material the tracker block is made of, regardless of biome.
-                        ////   If the meteor is a mixed composition, add all of its types to the list.
-                        if(this.meteorCompositionMixed) {
-                            nearbyMaterials.addAll(this.meteorCompositionMaterials);
+                        int pick = this.sequenceRng.nextInt(this.biomeMaterials.length + this.meteorMaterialsCount);
+                        if(pick < this.biomeMaterials.length) {
+                            splashMaterial = this.biomeMaterials[pick];
+                        } else if(meteorCompositionMixed) {
+                            splashMaterial = meteorCompositionMaterials.get(pick - this.biomeMaterials.length);
                         } else {
-                            try { nearbyMaterials.add(this.trackerBlockMaterial); } catch (Exception ex) { this.log(ex); }
-                        }
-                        // Finally randomize the textures list for the amount of splash blocks that will be spawning.
-                        for(int i = 0; i < this.splashBlocksAmount; i++) {
-                            texturesList.add(nearbyMaterials.get(this.rng.nextInt(nearbyMaterials.size())));
+                            splashMaterial = trackerBlockMaterial;
                         }
                     }
-                    // For each texture type, spawn a new block from the base location and randomize its trajectory based on the impact's inbound yaw.
-                    for (Material splashMaterial : texturesList) {
-                        int minBaseYaw = this.getStormYaw() - 60;
-                        var t = splashBaseSpawn.clone();
-                        t.setYaw((this.getRandomInt(minBaseYaw, minBaseYaw+120) + 180) % 360);
-                        t.setDirection(t.getDirection());
-                        FallingBlock newSplashBlock = block.getWorld().spawnFallingBlock(t, splashMaterial.createBlockData());
-                        double velocityFactor = this.getRandomDouble(this.splashBlocksVelocityFactorRange);
-                        double verticalImpulseFactor = this.getRandomDouble(this.splashVerticalImpulseRange);
-                        newSplashBlock.setVelocity(t.getDirection().
-                                multiply(
-                                    this.isSplashImpulseProportional()
-                                        ? (velocityFactor * Math.max(this.getMeteorDiameter()/5, 1))
-                                        : velocityFactor
-                                )
-                                .setY(
-                                    this.isSplashImpulseProportional()
-                                        ? (verticalImpulseFactor * Math.max(this.getMeteorDiameter()/5, 1))
-                                        : verticalImpulseFactor
-                                )
-                        );
-                    }
-                } catch (Exception ex) {
-                    this.log(Level.WARNING, "Unable to create splash effect from IMPACT event.");
-                    this.log(ex);
+                    int minBaseYaw = getStormYaw() - 60;
+                    var t = this.splashBaseSpawn.clone();
+                    t.setYaw((minBaseYaw + this.sequenceRng.nextInt(120) + 180) % 360);
+                    t.setDirection(t.getDirection());
+                    FallingBlock newSplashBlock = t.getWorld().spawnFallingBlock(t, splashMaterial.createBlockData());
+                    tagSpawnedEntity(newSplashBlock);
+                    double velocityFactor = splashBlocksVelocityFactorRange.sample(this.sequenceRng);
+                    double verticalImpulseFactor = splashVerticalImpulseRange.sample(this.sequenceRng);
+                    newSplashBlock.setVelocity(t.getDirection().
+                            multiply(
+                                isSplashImpulseProportional()
+                                    ? (velocityFactor * Math.max(getMeteorDiameter()/5, 1))
+                                    : velocityFactor
+                            )
+                            .setY(
+                                isSplashImpulseProportional()
+                                    ? (verticalImpulseFactor * Math.max(getMeteorDiameter()/5, 1))
+                                    : verticalImpulseFactor
+                            )
+                    );
                 }
+            } catch (Exception ex) {
+                log(Level.WARNING, "Unable to create splash effect from IMPACT event.");
+                log(ex);
             }
+        }
 
-            // If set, replace the impact tracker block with a block of diamond.
-            if(this.leaveDiamondBlock) {
-                var l = e.getBlock().getLocation(); //get the impact location
-                l.setY(l.getY() - this.getRandomInt(2, 10)); //start 2 to 10 blocks below the impact tracker block
-                // While the next block in the loop is equal to BEDROCK or AIR types, continue searching downward until block Y-1.
-                int start = 0; int max = 400; //prevent infinite loop scenarios
-                while(
-                        (l.getBlock().getBlockData().getMaterial() == Material.BEDROCK
-                            || l.getBlock().getBlockData().getMaterial() == Material.AIR)
-                        && l.getY() > 1 && start < max
-                ) {
-                    l.setY(l.getY()-1); start++;
-                }
-                if(l.getY() <= 1) {
-                    this.debugLog("Failed to place a diamond block under the meteor impact zone for IMPACT.");
+        private void bury() {
+            // If set, replace a solid block 2 to 10 blocks below the impact tracker block with a block of diamond.
+            if(!leaveDiamondBlock) { this.finish(); return; }
+            int x = this.landedBlock.getX(), z = this.landedBlock.getZ();
+            int startY = this.landedBlock.getY() - (2 + this.sequenceRng.nextInt(8));
+            // Search downward past any AIR or BEDROCK types (up to 400 blocks) on a fresh sample of the terrain.
+            StormWatch.getTerrainSampler().query(this.impactLocation, 0, view -> view.findSolidBelow(x, startY, z, 400), y -> {
+                if(this.isCancelled()) { return; }   //the storm was cleaned up while sampling
+                if(y == StormTerrainSampler.NOT_FOUND) {
+                    debugLog("Failed to place a diamond block under the meteor impact zone for IMPACT.");
                 } else {
                     try {
-                        l.getBlock().setBlockData(StormWatch.getInstance().getServer().createBlockData(Material.DIAMOND_BLOCK));
-                        this.debugLog("Buried diamond block at Location: " + l.getBlock().getLocation());
-                    } catch (Exception ex) { this.debugLog("Was ready to spawn diamond block, but cancelled."); this.log(ex); }
+                        var burial = this.landedBlock.getWorld().getBlockAt(x, y, z);
+                        burial.setType(Material.DIAMOND_BLOCK);
+                        debugLog("Buried diamond block at Location: " + burial.getLocation());
+                    } catch (Exception ex) { debugLog("Was ready to spawn diamond block, but cancelled."); log(ex); }
                 }
-            }
-
-            // Prematurely end the event.
-            // Actually don't do this, because the blocks need time to fall down after the impact.
-            ////this.cancelScheduledSpawns();
-
+                this.finish();
+            });
+            // Prematurely ending the event isn't done here, because the blocks need time to fall down after the impact.
         }
     }
 }
+
@@ -5,11 +5,12 @@ import org.bukkit.entity.*;
 import org.bukkit.event.Listener;
 import xyz.xmit.StormWatch.Storm;
 import xyz.xmit.StormWatch.StormConfig;
+import xyz.xmit.StormWatch.StormExplosionCoalescer;
+import xyz.xmit.StormWatch.StormWatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
-import java.util.Objects;
 import java.util.logging.Level;
 
 /**
@@ -26,7 +27,10 @@ public final class StormShower extends Storm implements Listener {
     public static final String TYPE_NAME = "shower";
 
     public enum StormShowerConfigurationKeyNames implements StormConfig.ConfigKeySet {
-        SHOWER_GLOWING_FIREBALLS("entities.glowing");
+        SHOWER_GLOWING_FIREBALLS("entities.glowing"),
+        SHOWER_COALESCE_EXPLOSIONS("entities.explosions.coalescing.enabled"),
+        SHOWER_COALESCE_RADIUS("entities.explosions.coalescing.radiusInBlocks"),
+        SHOWER_COALESCE_WINDOW_TICKS("entities.explosions.coalescing.windowTicks");
         public final String label;
         StormShowerConfigurationKeyNames(String keyText) { this.label = keyText; }
         public final String getLabel() { return this.label; }
@@ -37,9 +41,16 @@ public final class StormShower extends Storm implements Listener {
         putAll(Storm.defaultExplosiveConfiguration);
         // Meteors do not glow by default.
         put(StormShowerConfigurationKeyNames.SHOWER_GLOWING_FIREBALLS.label, false);
+        // Fireballs hitting close together don't merge their explosions by default.
+        put(StormShowerConfigurationKeyNames.SHOWER_COALESCE_EXPLOSIONS.label, false);
+        put(StormShowerConfigurationKeyNames.SHOWER_COALESCE_RADIUS.label, 4.0);
+        put(StormShowerConfigurationKeyNames.SHOWER_COALESCE_WINDOW_TICKS.label, 2);
     }};
 
     private boolean isGlowingFireballs;
+    private boolean isCoalescingExplosions;
+    private double coalesceRadius;
+    private int coalesceWindowTicks;
 
 
     public StormShower() {
@@ -49,12 +60,20 @@ public final class StormShower extends Storm implements Listener {
 
     public final boolean isGlowingFireballs() { return this.isGlowingFireballs; }
     public final void setGlowingFireballs(boolean isGlowing) { this.isGlowingFireballs = isGlowing; }
+    public final boolean isCoalescingExplosions() { return this.isCoalescingExplosions; }
+    public final double getCoalesceRadius() { return this.coalesceRadius; }
+    public final int getCoalesceWindowTicks() { return this.coalesceWindowTicks; }
 
 
     @Override
     protected final boolean initializeStormTypeProperties() {
         try {
-            this.isGlowingFireballs = StormConfig.getConfigValue(this.typeName, StormShowerConfigurationKeyNames.SHOWER_GLOWING_FIREBALLS);
+            this.isGlowingFireballs = this.getProfile().getValue(StormShowerConfigurationKeyNames.SHOWER_GLOWING_FIREBALLS);
+            this.isCoalescingExplosions = this.getProfile().getValue(StormShowerConfigurationKeyNames.SHOWER_COALESCE_EXPLOSIONS);
+            this.coalesceRadius = Math.max(0,
+                    ((Number)this.getProfile().getValue(StormShowerConfigurationKeyNames.SHOWER_COALESCE_RADIUS)).doubleValue());
+            this.coalesceWindowTicks = Math.max(1,
+                    ((Number)this.getProfile().getValue(StormShowerConfigurationKeyNames.SHOWER_COALESCE_WINDOW_TICKS)).intValue());
         } catch(Exception ex) {
             this.log(Level.WARNING, "~~~ Skipping spawn of Shower type: can't get proper configuration values.");
             this.log(ex);
@@ -83,43 +102,59 @@ public final class StormShower extends Storm implements Listener {
 
     @Override
     protected final Entity getNextEntity() {
-        var spawnBase = this.getNewRelativeLocation(true, false, true);
-        // Spawn the entity.
+        // Spawns that no player could see are moved, or skipped entirely.
+        var spawnBase = this.getVisibleRelativeLocation(true, false, true);
+        if(spawnBase == null) { return null; }
+        // Spawn the entity, fully configured before it's added to the world.
+        //   A lot of the SHOWER type properties are immutable, similar to STREAK events.
+        //   The explosive properties all come from the type's compiled profile, so this does no config lookups.
         Fireball x;
         try {
-            x = (Fireball)Objects.requireNonNull(spawnBase.getWorld()).spawnEntity(spawnBase, EntityType.FIREBALL);
-        } catch(Exception ex) { return null; }
-        x.getLocation().setPitch(this.getStormPitch()); x.getLocation().setYaw(this.getStormYaw());
-        x.setVelocity(x.getDirection().multiply(this.getNewSpeed()));
-        // A lot of the SHOWER type properties are immutable, similar to STREAK events.
-        try {
-            x.setYield(this.getBreaksBlocks() ? this.getExplosionYield() : 0);
-            x.setIsIncendiary(this.getSetsFires());
-            x.setGravity(true);
-            x.setBounce(false);
-            x.setSilent(!this.getExplosionEnabled());  // If true, then this should be FALSE (so exp are NOT silent)
-            x.setGlowing(this.isGlowingFireballs());
+            x = this.spawnEntity(spawnBase, LargeFireball.class, f -> {
+                f.setVelocity(f.getDirection().multiply(this.getNewSpeed()));
+                f.setYield(this.getBreaksBlocks() ? this.getExplosionYield() : 0);
+                f.setIsIncendiary(this.getSetsFires());
+                f.setGravity(true);
+                f.setBounce(false);
+                f.setSilent(!this.getExplosionEnabled());  // If true, then this should be FALSE (so exp are NOT silent)
+                f.setGlowing(this.isGlowingFireballs());
+            });
         } catch (Exception ex) {
-            this.log(ex, "Failed to keep newly-spawned fireball.");
-            x.remove();
+            this.log(ex, "Failed to spawn a new fireball.");
             return null;
         }
         // On each spawn, there's a chance to spawn in some falling obsidian.
+        //   (FallingBlocks can't be initialized before spawning, but setting them up in the same tick still
+        //   folds the changes into the spawn packet.)
         if(this.getRandomDouble(0, 1.0) < 0.015) {
             FallingBlock newObsidian = spawnBase.getWorld().spawnFallingBlock(spawnBase, Material.OBSIDIAN.createBlockData());
             newObsidian.setVelocity(spawnBase.getDirection().multiply(this.getNewSpeed()));
             newObsidian.setGravity(true); newObsidian.setPersistent(true);
+            this.tagSpawnedEntity(newObsidian);
         }
         // Return the object.
         return x;
     }
 
     @Override
-    protected final void doJustBeforeScheduling() {}
+    protected final void doJustBeforeScheduling() {
+        // Fireballs are many and interchangeable, so view-biased spawns can be thinned.
+        this.setThinsViewBiasedSpawns(true);
+    }
 
     @Override
-    protected final void doJustAfterScheduling() {}
+    protected final void doJustAfterScheduling() {
+        // Hand fireball hits to the shared coalescer, which merges the ones landing close together. The first
+        //   fireballs are scheduled a few ticks out, so registering here doesn't miss any.
+        if(this.isCoalescingExplosions()) {
+            StormWatch.getExplosionCoalescer().register(this.getStormId(), new StormExplosionCoalescer.Policy(
+                    this.getCoalesceRadius(), this.getCoalesceWindowTicks(), this.getBreaksBlocks()));
+        }
+    }
 
     @Override
-    public final void doCleanupAfterStorm() { this.destroySpawnedEntities(); }   //clean up
+    public final void doCleanupAfterStorm() {
+        this.destroySpawnedEntities();   //clean up
+        StormWatch.getExplosionCoalescer().unregister(this.getStormId());
+    }
 }
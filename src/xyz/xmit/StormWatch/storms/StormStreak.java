@@ -1,9 +1,9 @@
 package xyz.xmit.StormWatch.storms;
 
+import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Fireball;
-import org.bukkit.scheduler.BukkitRunnable;
 import xyz.xmit.StormWatch.StormWatch;
 import xyz.xmit.StormWatch.Storm;
 import xyz.xmit.StormWatch.StormConfig;
@@ -31,7 +31,9 @@ public class StormStreak extends Storm {
      */
     public enum StormStreakConfigurationKeyNames implements StormConfig.ConfigKeySet {
         HEIGHT_ABOVE_PLAYER_RANGE("heightAbovePlayerRange"),
-        STREAK_ENTITY_TYPE("streakEntityType");
+        STREAK_ENTITY_TYPE("streakEntityType"),
+        RENDER_MODE("renderMode"),
+        STREAK_PARTICLE("streakParticle");
         public final String label;
         StormStreakConfigurationKeyNames(String keyText) { this.label = keyText; }
         public final String getLabel() { return this.label; }
@@ -50,11 +52,19 @@ public class StormStreak extends Storm {
 
             // STREAK-specific configuration.
             put(StormStreakConfigurationKeyNames.HEIGHT_ABOVE_PLAYER_RANGE.label, new int[]{70, 100}); //relative height above the player to spawn
-            put(StormStreakConfigurationKeyNames.STREAK_ENTITY_TYPE.label, "SMALL_FIREBALL"); //entitytype to use
+            put(StormStreakConfigurationKeyNames.STREAK_ENTITY_TYPE.label, EntityType.SMALL_FIREBALL); //entitytype to use
+            put(StormStreakConfigurationKeyNames.RENDER_MODE.label, RenderMode.PARTICLES); //draw streaks with particles, or spawn entities
+            put(StormStreakConfigurationKeyNames.STREAK_PARTICLE.label, Particle.FLAME); //particle to draw streaks with
     }};
+    /**
+     * How streaks are drawn: as trails of particles (no entities at all), or as real, glowing fireball entities.
+     */
+    public enum RenderMode { PARTICLES, ENTITIES }
 
 
     private EntityType streakItemType; //type of entity spawned for the streak schedule
+    private RenderMode renderMode;
+    private Particle streakParticle;
 
 
     public StormStreak() { super(StormStreak.TYPE_NAME, StormStreak.defaultConfig); }
@@ -65,24 +75,33 @@ public class StormStreak extends Storm {
      * Gets the configuration-set EntityType of the streak Entity spawns.
      */
     public final EntityType getStreakItemType() { return this.streakItemType; }
+    /**
+     * Gets how this storm's streaks are drawn.
+     */
+    public final RenderMode getRenderMode() { return this.renderMode; }
+    /**
+     * Gets the particle streaks are drawn with, when rendering with particles.
+     */
+    public final Particle getStreakParticle() { return this.streakParticle; }
 
 
     @Override
     protected final boolean initializeStormTypeProperties() {
-        Fireball testCast;
-        try {
-            this.streakItemType = EntityType.valueOf(
-                    StormConfig.getConfigValue(this.typeName, StormStreakConfigurationKeyNames.STREAK_ENTITY_TYPE)
-            );
-            var randomSpawnLocation = this.getNewRelativeLocation(true, true, true);
-            testCast = (Fireball)randomSpawnLocation.getWorld().spawnEntity(randomSpawnLocation, this.streakItemType);
-        } catch (Exception ex) {
-            this.log(Level.WARNING, "--- Skipping spawn of STREAK storm: can't get proper configuration values.");
-            this.log(ex);
+        // The entity type's name is resolved when the profile is compiled; it only needs to be a kind of Fireball.
+        this.streakItemType = this.getProfile().getEnum(StormStreakConfigurationKeyNames.STREAK_ENTITY_TYPE, EntityType.class);
+        if(this.streakItemType == null || this.streakItemType.getEntityClass() == null
+                || !Fireball.class.isAssignableFrom(this.streakItemType.getEntityClass())) {
+            this.log(Level.WARNING, "--- Skipping spawn of STREAK storm: the configured "
+                    + StormStreakConfigurationKeyNames.STREAK_ENTITY_TYPE.label + " is not a type of Fireball.");
+            return false;
+        }
+        this.renderMode = this.getProfile().getEnum(StormStreakConfigurationKeyNames.RENDER_MODE, RenderMode.class);
+        this.streakParticle = this.getProfile().getEnum(StormStreakConfigurationKeyNames.STREAK_PARTICLE, Particle.class);
+        if(this.renderMode == RenderMode.PARTICLES && this.streakParticle.getDataType() != Void.class) {
+            this.log(Level.WARNING, "--- Skipping spawn of STREAK storm: the configured "
+                    + StormStreakConfigurationKeyNames.STREAK_PARTICLE.label + " needs extra data and can't be drawn.");
             return false;
         }
-        // Hopefully remove the entity if it was spawned.
-        try { testCast.remove(); } catch(Exception ex) { this.log(ex); }
         return true;
     }
 
@@ -96,34 +115,42 @@ public class StormStreak extends Storm {
 
     @Override
     protected final Entity getNextEntity() {
-        var spawnBase = this.getNewRelativeLocation(true, true, true);
+        if(this.renderMode == RenderMode.PARTICLES) {
+            var spawnBase = this.getNewRelativeLocation(true, true, true);
+            spawnBase.setYaw(this.getStormYaw());
+            spawnBase.setPitch(this.getStormPitch());
+            // Draw the same straight line a fireball would have flown, for the same 1 to 4 seconds.
+            StormWatch.getParticleRenderer().addStreak(this.getStormId(), spawnBase,
+                    spawnBase.getDirection().multiply(this.getNewSpeed()), this.getRandomInt(1,4) * 20, this.streakParticle);
+            return null;
+        }
+        // Fireballs that no player could see are moved, or skipped entirely. (Particles are always drawn: they
+        //   cost nothing for the server to track.)
+        var spawnBase = this.getVisibleRelativeLocation(true, true, true);
+        if(spawnBase == null) { return null; }
         spawnBase.setYaw(this.getStormYaw());
         spawnBase.setPitch(this.getStormPitch());
-        // Spawn the fireball and add it to the entities list.
-        var x = (Fireball)spawnBase.getWorld().spawnEntity(spawnBase, this.streakItemType);
-        x.getLocation().setYaw(this.getStormYaw());
-        x.getLocation().setPitch(this.getStormPitch());
-        //// These properties are immutable.
-        x.setYield(0); x.setIsIncendiary(false); x.setGravity(false);
-        x.setGlowing(true); x.setBounce(false); x.setSilent(true);
-        x.setPersistent(false);
-        // Set the trajectory of the entity and return it (since these should be tracked).
-        x.setVelocity(x.getDirection().multiply(this.getNewSpeed()));
-        // Schedule an event to despawn the meteor after a short duration (
+        // Spawn the fireball, fully configured before it's added to the world, and add it to the entities list.
+        Fireball x = this.spawnEntity(spawnBase, this.streakItemType.getEntityClass().asSubclass(Fireball.class), f -> {
+            //// These properties are immutable.
+            f.setYield(0); f.setIsIncendiary(false); f.setGravity(false);
+            f.setGlowing(true); f.setBounce(false); f.setSilent(true);
+            f.setPersistent(false);
+            // Set the trajectory of the entity (it's returned, since these should be tracked).
+            f.setVelocity(f.getDirection().multiply(this.getNewSpeed()));
+        });
+        // Despawn the meteor after a short duration (1 to 4 seconds, or 20 - 80 server ticks).
         //   Ideally, this will attempt to prevent the HUGE LAG and pile-up of streak entities that
         //   have been seen in chunks that get unloaded while this storm type is running.
-        this.addScheduledSpawnTask(
-            new BukkitRunnable() {
-                public void run() {
-                    try { x.remove(); } catch (Exception ex) { if(StormWatch.getInstance().getDebug()) { log(ex); } }
-                }
-            }.runTaskLater(StormWatch.getInstance(), (long)(this.getRandomInt(1,4) * 20L)) //1 to 4 seconds (20 - 80 server ticks)
-        );
+        this.expireEntityAfter(x, this.getRandomInt(1,4) * 20L);
         return x;
     }
 
     @Override
-    protected final void doJustBeforeScheduling() {}
+    protected final void doJustBeforeScheduling() {
+        // Streaks are many and interchangeable, so view-biased spawns can be thinned.
+        this.setThinsViewBiasedSpawns(true);
+    }
 
     @Override
     protected final void doJustAfterScheduling() {}
@@ -134,5 +161,6 @@ public class StormStreak extends Storm {
 
 
         this.destroySpawnedEntities();   //clean up the spawned entities on storm end
+        StormWatch.getParticleRenderer().clear(this.getStormId());
     }
 }